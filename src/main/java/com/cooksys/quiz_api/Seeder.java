@@ -31,6 +31,10 @@ public class Seeder implements CommandLineRunner {
    */
   @Override
   public void run(String... args) throws Exception {
+    // The schema is no longer recreated on startup, only seed an empty database
+    if (quizRepository.count() > 0)
+      return;
+
     Quiz quiz1 = new Quiz();
     quiz1.setName("Quiz 1");
 
@@ -0,0 +1,183 @@
+package com.cooksys.quiz_api.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import com.cooksys.quiz_api.dtos.AnswerResponseDto;
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.scoring.ScoringIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Size-bounded (W-TinyLFU) cache of rendered quiz graphs keyed by quiz id. Cached
+ * DTOs are defensive copies with unmodifiable lists and are shared between requests.
+ * Alongside each graph it keeps the compact array of live question ids used to draw
+ * random questions and the rendered live questions that sessions draw from; all three
+ * are evicted together. Answer keys used for scoring are the exception: writes patch
+ * them in place through {@link #updateScoringIndex(Long, UnaryOperator)} instead.
+ *
+ * Readers take a {@link #stamp()} before going to the database and hand it back to
+ * {@link #put(long, QuizResponseDto)}; if any write was committed in between, the
+ * freshly loaded graph is returned but not kept, so a stale read can never be cached.
+ */
+@Component
+public class QuizCache {
+
+  private final Cache<Long, QuizResponseDto> cache;
+
+  private final Cache<Long, long[]> questionIds;
+
+  private final Cache<Long, List<QuestionResponseDto>> liveQuestions;
+
+  private final Cache<Long, ScoringIndex> scoringIndexes;
+
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public QuizCache(@Value("${quiz.cache.maximum-size:1000}") long maximumSize, MeterRegistry registry) {
+    this.cache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    this.questionIds = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    this.liveQuestions = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    this.scoringIndexes = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    // Hits, misses and evictions for the graph cache; the side caches only report their size
+    CaffeineCacheMetrics.monitor(registry, cache, "quiz.graphs");
+    registry.gauge("cache.size", Tags.of("cache", "quiz.questionIds"), questionIds, Cache::estimatedSize);
+    registry.gauge("cache.size", Tags.of("cache", "quiz.liveQuestions"), liveQuestions, Cache::estimatedSize);
+    registry.gauge("cache.size", Tags.of("cache", "quiz.scoring"), scoringIndexes, Cache::estimatedSize);
+  }
+
+  public QuizResponseDto get(Long id) {
+    return cache.getIfPresent(id);
+  }
+
+  public Map<Long, QuizResponseDto> getAll(Collection<Long> ids) {
+    return cache.getAllPresent(ids);
+  }
+
+  public long stamp() {
+    return invalidations.get();
+  }
+
+  public QuizResponseDto put(long stamp, QuizResponseDto quiz) {
+    QuizResponseDto snapshot = snapshot(quiz);
+    cache.put(snapshot.getId(), snapshot);
+    // Re-check after the put: an eviction racing with us either happens after the put or is seen here
+    if (invalidations.get() != stamp)
+      cache.invalidate(snapshot.getId());
+    return snapshot;
+  }
+
+  public long[] getQuestionIds(Long quizId) {
+    return questionIds.getIfPresent(quizId);
+  }
+
+  public long[] putQuestionIds(long stamp, Long quizId, long[] ids) {
+    questionIds.put(quizId, ids);
+    if (invalidations.get() != stamp)
+      questionIds.invalidate(quizId);
+    return ids;
+  }
+
+  public List<QuestionResponseDto> getLiveQuestions(Long quizId) {
+    return liveQuestions.getIfPresent(quizId);
+  }
+
+  public List<QuestionResponseDto> putLiveQuestions(long stamp, Long quizId, List<QuestionResponseDto> questions) {
+    List<QuestionResponseDto> snapshot = questions.stream().map(QuizCache::snapshot)
+        .collect(Collectors.toUnmodifiableList());
+    liveQuestions.put(quizId, snapshot);
+    if (invalidations.get() != stamp)
+      liveQuestions.invalidate(quizId);
+    return snapshot;
+  }
+
+  public ScoringIndex getScoringIndex(Long quizId) {
+    return scoringIndexes.getIfPresent(quizId);
+  }
+
+  public ScoringIndex putScoringIndex(long stamp, Long quizId, ScoringIndex index) {
+    scoringIndexes.put(quizId, index);
+    if (invalidations.get() != stamp)
+      scoringIndexes.invalidate(quizId);
+    return index;
+  }
+
+  /**
+   * Applies an edit to the cached answer key of a quiz once the current transaction commits; a quiz whose key is
+   * not cached is left alone and built from the database on its next submission. Returning null drops the key.
+   * A reader may cache a key loaded after the commit before this runs, so the update must be idempotent.
+   */
+  public void updateScoringIndex(Long quizId, UnaryOperator<ScoringIndex> update) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      applyScoringUpdate(quizId, update);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        applyScoringUpdate(quizId, update);
+      }
+    });
+  }
+
+  private void applyScoringUpdate(Long quizId, UnaryOperator<ScoringIndex> update) {
+    invalidations.incrementAndGet();
+    scoringIndexes.asMap().computeIfPresent(quizId, (id, index) -> update.apply(index));
+  }
+
+  public void evict(Long id) {
+    invalidate(id);
+    if (!TransactionSynchronizationManager.isSynchronizationActive())
+      return;
+    // Evict again once the write is visible, so readers that loaded the old row in the meantime are discarded
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        invalidate(id);
+      }
+    });
+  }
+
+  private void invalidate(Long id) {
+    invalidations.incrementAndGet();
+    cache.invalidate(id);
+    questionIds.invalidate(id);
+    liveQuestions.invalidate(id);
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  private static QuizResponseDto snapshot(QuizResponseDto quiz) {
+    List<QuestionResponseDto> questions = quiz.getQuestions() == null ? List.of()
+        : quiz.getQuestions().stream().map(QuizCache::snapshot).collect(Collectors.toUnmodifiableList());
+    return new QuizResponseDto(quiz.getId(), quiz.getName(), quiz.getVersion(), questions);
+  }
+
+  private static QuestionResponseDto snapshot(QuestionResponseDto question) {
+    List<AnswerResponseDto> answers = question.getAnswers() == null ? List.of()
+        : question.getAnswers().stream().map(a -> new AnswerResponseDto(a.getId(), a.getText()))
+            .collect(Collectors.toUnmodifiableList());
+    return new QuestionResponseDto(question.getId(), question.getText(), answers);
+  }
+
+}
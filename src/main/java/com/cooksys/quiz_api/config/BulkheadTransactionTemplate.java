@@ -0,0 +1,28 @@
+package com.cooksys.quiz_api.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The application's TransactionTemplate, in place of the one Spring Boot would define. Every programmatic
+ * transaction holds a {@link DatabaseBulkhead} permit, the same as a transactional service call, so batch
+ * imports, statistics flushes and the outbox relay cannot drain the pool behind the bulkhead's back.
+ */
+@Component
+public class BulkheadTransactionTemplate extends TransactionTemplate {
+
+    private final transient DatabaseBulkhead bulkhead;
+
+    public BulkheadTransactionTemplate(PlatformTransactionManager transactionManager, DatabaseBulkhead bulkhead) {
+        super(transactionManager);
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+        return bulkhead.call(() -> super.execute(action));
+    }
+}
@@ -0,0 +1,74 @@
+package com.cooksys.quiz_api.config;
+
+import com.cooksys.quiz_api.exception.ConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.LockTimeoutException;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PessimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Re-runs a {@link RetryOnConflict} method when its transaction fails on a stale version or a lock, up to
+ * quiz.edit.max-attempts times with a short randomised backoff, then gives up with a 409. Edits to different
+ * quizzes never conflict, so only writers racing on the same quiz pay for a retry.
+ *
+ * Runs outside the bulkhead and the transaction interceptor, so each attempt is a fresh transaction that reloads
+ * what it reads, and the backoff between attempts holds neither a bulkhead permit nor a connection. A call made
+ * within an existing transaction is not retried, the outer one is.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConflictRetry {
+
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final Counter retries;
+
+    public ConflictRetry(@Value("${quiz.edit.max-attempts:5}") int maxAttempts,
+                         @Value("${quiz.edit.backoff-ms:10}") long backoffMs,
+                         MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.retries = meterRegistry.counter("quiz.edit.retries");
+    }
+
+    @Around("within(com.cooksys.quiz_api.services..*) && @annotation(com.cooksys.quiz_api.config.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return joinPoint.proceed();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException e) {
+                if (!isConflict(e))
+                    throw e;
+                if (attempt >= maxAttempts)
+                    throw new ConflictException("Quiz Was Changed By Another Request, Try Again");
+                retries.increment();
+                // Jittered and growing, so the writers that lost the same race do not collide again
+                Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMs * attempt + 1));
+            }
+        }
+    }
+
+    private static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyFailureException || cause instanceof OptimisticLockException
+                    || cause instanceof PessimisticLockException || cause instanceof LockTimeoutException)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.cooksys.quiz_api.config;
+
+import com.cooksys.quiz_api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps the number of transactional service calls in flight at the size of the Hikari pool. Callers past
+ * that wait on a fair semaphore instead of piling up inside Hikari, and give up with a 503 after
+ * quiz.db.acquire-timeout-ms. With virtual request threads this is what keeps thousands of concurrent
+ * requests from all contending for a handful of connections.
+ *
+ * Runs outside the transaction interceptor, so a permit is taken before a connection is borrowed and
+ * released after it is returned. That relies on spring.jpa.open-in-view being off, as a session kept open for
+ * the whole request would hold on to its connection after the permit had gone back. Nested transactional calls
+ * on the same thread reuse the outer permit. {@link ConflictRetry} runs outside it, so each retried attempt
+ * takes a permit of its own. Programmatic transactions take the same permits through
+ * {@link BulkheadTransactionTemplate}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DatabaseBulkhead {
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public DatabaseBulkhead(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                            @Value("${quiz.db.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+                            MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(poolSize, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        meterRegistry.gauge("quiz.db.permits.available", permits, Semaphore::availablePermits);
+        meterRegistry.gauge("quiz.db.permits.waiting", permits, Semaphore::getQueueLength);
+    }
+
+    @Around("within(com.cooksys.quiz_api.services..*) && @annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean acquired = enter();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            exit(acquired);
+        }
+    }
+
+    public <T> T call(Supplier<T> work) {
+        boolean acquired = enter();
+        try {
+            return work.get();
+        } finally {
+            exit(acquired);
+        }
+    }
+
+    // Returns whether a permit was taken, false for a call nested in one that already holds it
+    private boolean enter() {
+        int[] depth = DEPTH.get();
+        if (depth[0] == 0) {
+            try {
+                if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS))
+                    throw new ServiceUnavailableException("Database Is Busy, Try Again Later");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Database Is Busy, Try Again Later");
+            }
+        }
+        depth[0]++;
+        return depth[0] == 1;
+    }
+
+    private void exit(boolean acquired) {
+        DEPTH.get()[0]--;
+        if (acquired)
+            permits.release();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,24 @@
+package com.cooksys.quiz_api.config;
+
+import com.cooksys.quiz_api.outbox.OutboxConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Until a real downstream consumer is wired in as an {@link OutboxConsumer} bean, relayed events are only logged.
+ */
+@Configuration
+public class OutboxConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxConfig.class);
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxConsumer.class)
+    public OutboxConsumer loggingOutboxConsumer() {
+        return events -> events.forEach(event -> log.info("quiz_change id={} quiz={} kind={} version={}",
+                event.getId(), event.getQuizId(), event.getKind(), event.getVersion()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.cooksys.quiz_api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * quiz.web.threads=virtual runs every Tomcat request, and so every QuizController call, on its own virtual
+ * thread instead of the bounded platform pool (server.tomcat.threads.max). The default, platform, leaves
+ * Tomcat alone. Database work stays bounded by {@link DatabaseBulkhead} in both modes.
+ *
+ * The project still targets Java 11, so the virtual thread executor is looked up at runtime; starting in
+ * virtual mode on a JDK without it (anything before 21) fails instead of silently using platform threads.
+ */
+@Configuration
+public class RequestThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestThreadsConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "quiz.web.threads", havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutor() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("quiz.web.threads=virtual needs Java 21 or later, running on "
+                    + System.getProperty("java.version"), e);
+        }
+    }
+}
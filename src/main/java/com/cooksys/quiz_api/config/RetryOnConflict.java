@@ -0,0 +1,15 @@
+package com.cooksys.quiz_api.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional service method whose whole transaction is re-run by {@link ConflictRetry} when it loses
+ * an optimistic-locking race. The method must be safe to repeat from the start.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
@@ -1,14 +1,34 @@
 package com.cooksys.quiz_api.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.cooksys.quiz_api.dtos.*;
+import com.cooksys.quiz_api.events.ChangeLog;
+import com.cooksys.quiz_api.exception.BadRequestException;
+import com.cooksys.quiz_api.exception.PreconditionFailedException;
+import com.cooksys.quiz_api.export.BinaryCatalogWriter;
+import com.cooksys.quiz_api.export.NdjsonCatalogWriter;
+import com.cooksys.quiz_api.services.ExportService;
+import com.cooksys.quiz_api.services.QuizImportService;
 import com.cooksys.quiz_api.services.QuizService;
+import com.cooksys.quiz_api.services.SessionService;
+import com.cooksys.quiz_api.services.StatisticsService;
 
 import com.cooksys.quiz_api.services.impl.QuizServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,12 +37,101 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/quiz")
 public class QuizController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final QuizService quizService;
+    private final SessionService sessionService;
+    private final StatisticsService statisticsService;
+    private final QuizImportService quizImportService;
+    private final ExportService exportService;
+    private final ChangeLog changeLog;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<QuizResponseDto> getAllQuizzes() {
-        return quizService.getAllQuizzes();
+    public ResponseEntity<List<QuizResponseDto>> getAllQuizzes(@RequestParam(required = false) Long after,
+                                                               @RequestParam(defaultValue = "50") int limit,
+                                                               @RequestParam(defaultValue = "full") String view,
+                                                               WebRequest request) {
+        if (!"full".equals(view))
+            throw new BadRequestException("\"view\" Must Be \"full\" Or \"summary\"");
+        // A poll with the ETag of the page the client holds is answered from the ids and versions alone
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = pageTag(quizService.getQuizVersions(after, limit));
+            if (request.checkNotModified(etag))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<QuizResponseDto> quizzes = quizService.getQuizzes(after, limit);
+        List<QuizVersionDto> versions = quizzes.stream()
+                .map(quiz -> new QuizVersionDto(quiz.getId(), quiz.getVersion()))
+                .collect(Collectors.toList());
+        return page(quizzes, limit, quizzes.isEmpty() ? null : quizzes.get(quizzes.size() - 1).getId())
+                .eTag(pageTag(versions))
+                .body(quizzes);
+    }
+
+    // Id, name and question count only, for clients that just need to list the quizzes
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<QuizSummaryDto>> getQuizSummaries(@RequestParam(required = false) Long after,
+                                                                 @RequestParam(defaultValue = "50") int limit) {
+        List<QuizSummaryDto> quizzes = quizService.getQuizSummaries(after, limit);
+        return page(quizzes, limit, quizzes.isEmpty() ? null : quizzes.get(quizzes.size() - 1).getId()).body(quizzes);
+    }
+
+    private static ResponseEntity.BodyBuilder page(List<?> quizzes, int limit, Long lastId) {
+        // A full page means there may be more, so hand back the last id as the cursor for the next request
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!quizzes.isEmpty() && quizzes.size() == Math.min(limit, QuizServiceImpl.MAX_PAGE_SIZE))
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(lastId));
+        return response;
+    }
+
+    // Strong validators: a quiz is tagged with its version, a page with every id and version on it
+    private static String quizTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String pageTag(List<QuizVersionDto> versions) {
+        long hash = 1;
+        for (QuizVersionDto version : versions)
+            hash = 31 * (31 * hash + version.getId()) + version.getVersion();
+        return "\"" + versions.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllQuizzes() {
+        // Writes one quiz per line (NDJSON) as it is read, instead of building the whole catalog in memory
+        StreamingResponseBody body = out -> quizService.streamAllQuizzes(quiz -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(quiz));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(@RequestParam(defaultValue = "binary") String format) {
+        // Full catalog including soft-deleted rows, written from a database cursor straight to the response
+        boolean ndjson = "ndjson".equals(format);
+        if (!ndjson && !"binary".equals(format))
+            throw new BadRequestException("\"format\" Must Be \"binary\" Or \"ndjson\"");
+        StreamingResponseBody body = out -> exportService.exportCatalog(ndjson
+                ? new NdjsonCatalogWriter(out, objectMapper.getFactory())
+                : new BinaryCatalogWriter(out));
+        String filename = ndjson ? "quizzes.ndjson.gz" : "quizzes.qzx";
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // Server-Sent Events, one "change" event per committed edit. Reconnecting clients resume after Last-Event-ID
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(required = false) Long after) {
+        return changeLog.subscribe(lastEventId != null ? lastEventId : after);
     }
 
     // TODO: Implement the remaining 6 endpoints from the documentation.
@@ -33,16 +142,49 @@ public class QuizController {
         return quizService.createQuiz(quizRequestDto);
     }
 
+    // The body is parsed as it arrives, a JSON array or one quiz per line, and each quiz is reported on separately
+    @PostMapping(path = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @ResponseStatus(HttpStatus.OK)
+    public ImportResponseDto importQuizzes(InputStream body) throws IOException {
+        return quizImportService.importQuizzes(body);
+    }
+
+    @GetMapping("/cache/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public CacheStatsDto getCacheStats() {
+        return quizService.getCacheStats();
+    }
+
+    @GetMapping("/cache/stats/entities")
+    @ResponseStatus(HttpStatus.OK)
+    public List<RegionStatsDto> getEntityCacheStats() {
+        return quizService.getEntityCacheStats();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<QuizResponseDto> getQuiz(@PathVariable Long id, WebRequest request) {
+        // The version check reads the quiz row only, the graph is loaded and rendered when it has changed
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String etag = quizTag(quizService.getQuizVersion(id));
+            if (request.checkNotModified(etag))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        QuizResponseDto quiz = quizService.getQuiz(id);
+        return ResponseEntity.ok().eTag(quizTag(quiz.getVersion())).body(quiz);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public QuizResponseDto deleteQuizById(@PathVariable Long id) {
-        return quizService.deleteQuizById(id);
+    public QuizResponseDto deleteQuizById(@PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return quizService.deleteQuizById(id, expectedVersion(ifMatch));
     }
 
     @PatchMapping("/{id}/rename/{newName}")
     @ResponseStatus(HttpStatus.OK)
-    public QuizResponseDto renameQuiz(@PathVariable Long id, @PathVariable String newName) {
-        return quizService.renameQuiz(id, newName);
+    public QuizResponseDto renameQuiz(@PathVariable Long id, @PathVariable String newName,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return quizService.renameQuiz(id, newName, expectedVersion(ifMatch));
     }
 
     @GetMapping("/{id}/random")
@@ -51,20 +193,62 @@ public class QuizController {
         return quizService.getRandomQuestion(id);
     }
 
+    @PostMapping("/{id}/submit")
+    @ResponseStatus(HttpStatus.OK)
+    public SubmissionResponseDto submitAnswers(@PathVariable Long id, @RequestBody SubmissionRequestDto submissionRequestDto) {
+        return quizService.submitAnswers(id, submissionRequestDto);
+    }
+
+    @GetMapping("/{id}/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public QuizStatsDto getStats(@PathVariable Long id) {
+        return statisticsService.getStats(id);
+    }
+
+    @PostMapping("/{id}/session")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SessionResponseDto startSession(@PathVariable Long id) {
+        return sessionService.startSession(id);
+    }
+
+    @GetMapping("/session/{sessionId}/next")
+    @ResponseStatus(HttpStatus.OK)
+    public QuestionResponseDto drawQuestion(@PathVariable String sessionId) {
+        return sessionService.drawQuestion(sessionId);
+    }
+
     @PatchMapping("/{id}/add")
-    public QuizResponseDto addQuestion(@PathVariable Long id, @RequestBody QuestionRequestDto questionRequestDto) {
-        return quizService.addQuestion(id, questionRequestDto);
+    public QuizResponseDto addQuestion(@PathVariable Long id, @RequestBody QuestionRequestDto questionRequestDto,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return quizService.addQuestion(id, questionRequestDto, expectedVersion(ifMatch));
     }
 
     @DeleteMapping("/{id}/delete/{qId}")
     @ResponseStatus(HttpStatus.OK)
-    public QuestionResponseDto deleteQuestion(@PathVariable Long id, @PathVariable Long qId) {
-        return quizService.deleteQuestion(id, qId);
+    public QuestionResponseDto deleteQuestion(@PathVariable Long id, @PathVariable Long qId,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return quizService.deleteQuestion(id, qId, expectedVersion(ifMatch));
     }
 
     @DeleteMapping("/{id}/delete/{qId}/{aId}")
     @ResponseStatus(HttpStatus.OK)
-    public AnswerResponseDto deleteAnswer(@PathVariable Long id, @PathVariable Long qId, @PathVariable Long aId) {
-        return quizService.deleteAnswer(id, qId, aId);
+    public AnswerResponseDto deleteAnswer(@PathVariable Long id, @PathVariable Long qId, @PathVariable Long aId,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return quizService.deleteAnswer(id, qId, aId, expectedVersion(ifMatch));
+    }
+
+    // If-Match takes the ETag of GET /quiz/{id}. Without it, or with "*", the edit applies to the current version;
+    // If-Match compares strongly, so a weak or unknown tag can never match.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*"))
+            return null;
+        String tag = ifMatch.trim();
+        try {
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\""))
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            // falls through to the precondition failure
+        }
+        throw new PreconditionFailedException("If-Match Does Not Match Any Quiz Version");
     }
 }
@@ -0,0 +1,35 @@
+package com.cooksys.quiz_api.controllers;
+
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.services.ReactiveQuizService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking variants of the read endpoints of QuizController, same DTOs
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/reactive/quiz")
+public class ReactiveQuizController {
+
+    private final ReactiveQuizService reactiveQuizService;
+
+    // Streamed one quiz per line (NDJSON), each line is written and flushed before the next quiz is requested
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    public Flux<QuizResponseDto> getAllQuizzes(@RequestParam(required = false) Long after) {
+        return reactiveQuizService.getQuizzes(after);
+    }
+
+    @GetMapping("/{id}/random")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<QuestionResponseDto> getRandomQuestion(@PathVariable Long id) {
+        return reactiveQuizService.getRandomQuestion(id);
+    }
+}
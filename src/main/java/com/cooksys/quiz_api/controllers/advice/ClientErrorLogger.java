@@ -0,0 +1,75 @@
+package com.cooksys.quiz_api.controllers.advice;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs client errors off the request thread as one key=value line each. At most
+ * quiz.errors.log.rate-per-second lines are queued per second and the queue is bounded,
+ * anything over either limit is dropped and only counted (quiz.errors.log.dropped),
+ * so a flood of bad requests never waits on the log appender.
+ */
+@Component
+public class ClientErrorLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientErrorLogger.class);
+
+    private final int ratePerSecond;
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+
+    // Current one-second window and how many lines it has let through
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong admitted = new AtomicLong();
+
+    public ClientErrorLogger(@Value("${quiz.errors.log.rate-per-second:50}") int ratePerSecond,
+                             @Value("${quiz.errors.log.queue-capacity:1024}") int queueCapacity,
+                             MeterRegistry meterRegistry) {
+        this.ratePerSecond = ratePerSecond;
+        this.dropped = meterRegistry.counter("quiz.errors.log.dropped");
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "client-error-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.increment());
+    }
+
+    public void log(int status, String method, String path, RuntimeException exception) {
+        if (!log.isInfoEnabled())
+            return;
+        if (!admit()) {
+            dropped.increment();
+            return;
+        }
+        String type = exception.getClass().getSimpleName();
+        String message = exception.getMessage();
+        executor.execute(() -> log.info("client_error status={} exception={} method={} path=\"{}\" message=\"{}\"",
+                status, type, method, path, message));
+    }
+
+    private boolean admit() {
+        long second = System.currentTimeMillis() / 1000;
+        long current = window.get();
+        if (current != second && window.compareAndSet(current, second))
+            admitted.set(0);
+        return admitted.incrementAndGet() <= ratePerSecond;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+}
@@ -1,31 +1,75 @@
 package com.cooksys.quiz_api.controllers.advice;
 
 import com.cooksys.quiz_api.exception.BadRequestException;
+import com.cooksys.quiz_api.exception.ConflictException;
 import com.cooksys.quiz_api.exception.ErrorDto;
 import com.cooksys.quiz_api.exception.NotFoundException;
+import com.cooksys.quiz_api.exception.PreconditionFailedException;
+import com.cooksys.quiz_api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.HandlerMapping;
 
 import javax.servlet.http.HttpServletRequest;
 
 @ControllerAdvice(basePackages = {"com.cooksys.quiz_api"})
 @ResponseBody
+@RequiredArgsConstructor
 public class QuizControllerAdvice {
 
+    private final MeterRegistry meterRegistry;
+    private final ClientErrorLogger clientErrorLogger;
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(BadRequestException.class)
     public ErrorDto handleBadRequestException(HttpServletRequest request, BadRequestException badRequestException) {
-        badRequestException.printStackTrace();
+        report(request, HttpStatus.BAD_REQUEST, badRequestException);
         return new ErrorDto(badRequestException.getMessage());
     }
 
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(NotFoundException.class)
     public ErrorDto handleNotFoundException(HttpServletRequest request, NotFoundException notFoundException) {
-        notFoundException.printStackTrace();
+        report(request, HttpStatus.NOT_FOUND, notFoundException);
         return new ErrorDto(notFoundException.getMessage());
     }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ConflictException.class)
+    public ErrorDto handleConflictException(HttpServletRequest request, ConflictException conflictException) {
+        report(request, HttpStatus.CONFLICT, conflictException);
+        return new ErrorDto(conflictException.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ErrorDto handlePreconditionFailedException(HttpServletRequest request,
+            PreconditionFailedException preconditionFailedException) {
+        report(request, HttpStatus.PRECONDITION_FAILED, preconditionFailedException);
+        return new ErrorDto(preconditionFailedException.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ErrorDto handleServiceUnavailableException(HttpServletRequest request,
+            ServiceUnavailableException serviceUnavailableException) {
+        report(request, HttpStatus.SERVICE_UNAVAILABLE, serviceUnavailableException);
+        return new ErrorDto(serviceUnavailableException.getMessage());
+    }
+
+    // Client errors are expected traffic: no stack trace, a counter for the error rate and a rate-limited async log line.
+    // Messages carry whatever the client sent, so the counter is only tagged with values from fixed sets: the
+    // exception, the status and the route template
+    private void report(HttpServletRequest request, HttpStatus status, RuntimeException exception) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        meterRegistry.counter("quiz.errors", "exception", exception.getClass().getSimpleName(),
+                "status", String.valueOf(status.value()), "uri", route == null ? "UNKNOWN" : route.toString())
+                .increment();
+        clientErrorLogger.log(status.value(), request.getMethod(), request.getRequestURI(), exception);
+    }
 }
@@ -0,0 +1,22 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+
+  private long size;
+
+  private long hitCount;
+
+  private long missCount;
+
+  private double hitRate;
+
+  private long evictionCount;
+
+}
@@ -0,0 +1,22 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDto {
+
+  // Position in the change log, also sent as the SSE event id; larger in every later run of the application
+  private long id;
+
+  private Long quizId;
+
+  private ChangeKind kind;
+
+  // Quiz version once the change committed
+  private long version;
+
+}
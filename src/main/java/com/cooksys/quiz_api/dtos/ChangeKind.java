@@ -0,0 +1,17 @@
+package com.cooksys.quiz_api.dtos;
+
+public enum ChangeKind {
+
+  CREATED,
+
+  RENAMED,
+
+  DELETED,
+
+  QUESTION_ADDED,
+
+  QUESTION_DELETED,
+
+  ANSWER_DELETED
+
+}
@@ -0,0 +1,20 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportItemDto {
+
+  // Position of the quiz in the imported body, starting at 0
+  private int index;
+
+  // Id of the created quiz, null when it was rejected
+  private Long id;
+
+  private String error;
+
+}
@@ -0,0 +1,20 @@
+package com.cooksys.quiz_api.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResponseDto {
+
+  private int imported;
+
+  private int failed;
+
+  private List<ImportItemDto> items;
+
+}
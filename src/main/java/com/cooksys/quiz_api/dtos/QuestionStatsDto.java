@@ -0,0 +1,22 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionStatsDto {
+
+  private Long questionId;
+
+  private long answered;
+
+  private long correct;
+
+  private List<AnswerStatsDto> answers;
+
+}
@@ -15,6 +15,8 @@ public class QuizResponseDto {
 
   private String name;
 
+  private long version;
+
   private List<QuestionResponseDto> questions;
 
 }
@@ -0,0 +1,18 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizStatsDto {
+
+  private Long quizId;
+
+  private List<QuestionStatsDto> questions;
+
+}
@@ -0,0 +1,18 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizSummaryDto {
+
+  private Long id;
+
+  private String name;
+
+  private long questionCount;
+
+}
@@ -0,0 +1,16 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SelectionDto {
+
+    private Long questionId;
+
+    private Long answerId;
+
+}
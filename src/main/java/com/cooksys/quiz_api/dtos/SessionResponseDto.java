@@ -0,0 +1,20 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionResponseDto {
+
+  private String id;
+
+  private Long quizId;
+
+  private int questionCount;
+
+  private int remaining;
+
+}
@@ -0,0 +1,20 @@
+package com.cooksys.quiz_api.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionResponseDto {
+
+  private Long quizId;
+
+  private int answered;
+
+  private int correct;
+
+  private int total;
+
+}
@@ -2,16 +2,25 @@ package com.cooksys.quiz_api.entities;
 
 import javax.persistence.*;
 
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "answer")
 @NoArgsConstructor
-@Data
+@Getter
+@Setter
+@ToString
 public class Answer {
 
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answer_seq")
+  @SequenceGenerator(name = "answer_seq", sequenceName = "answer_seq", allocationSize = 50)
   private Long id;
 
   private String text;
@@ -20,8 +29,24 @@ public class Answer {
 
   @ManyToOne
   @JoinColumn(name = "question_id")
+  @ToString.Exclude
   private Question question;
 
   private boolean deleted = false;
 
+  // Same identity rules as Quiz
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o))
+      return false;
+    return id != null && id.equals(((Answer) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClass(this).hashCode();
+  }
+
 }
@@ -0,0 +1,23 @@
+package com.cooksys.quiz_api.entities;
+
+import javax.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(indexes = @Index(name = "answer_statistic_quiz_id_idx", columnList = "quizId"))
+@NoArgsConstructor
+@Data
+public class AnswerStatistic {
+
+  @Id
+  private Long answerId;
+
+  private Long questionId;
+
+  private Long quizId;
+
+  private long chosen;
+
+}
@@ -0,0 +1,40 @@
+package com.cooksys.quiz_api.entities;
+
+import java.time.Instant;
+
+import javax.persistence.*;
+
+import com.cooksys.quiz_api.dtos.ChangeKind;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@NoArgsConstructor
+@Data
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+  @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+  private Long id;
+
+  private Long quizId;
+
+  @Enumerated(EnumType.STRING)
+  private ChangeKind kind;
+
+  private long version;
+
+  private Instant createdAt;
+
+  // Not handed to a relay before this; pushed forward while a relay delivers the event, or backs off after a failure
+  private Instant availableAt;
+
+  // Failed deliveries so far
+  private int attempts;
+
+  // Set aside after too many failed deliveries, relays skip it
+  private boolean deadLetter;
+
+}
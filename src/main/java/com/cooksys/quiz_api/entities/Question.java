@@ -4,27 +4,56 @@ import java.util.List;
 
 import javax.persistence.*;
 
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question")
 @NoArgsConstructor
-@Data
+@Getter
+@Setter
+@ToString
 public class Question {
 
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "question_seq")
+  @SequenceGenerator(name = "question_seq", sequenceName = "question_seq", allocationSize = 50)
   private Long id;
 
   private String text;
 
   @ManyToOne
   @JoinColumn(name = "quiz_id")
+  @ToString.Exclude
   private Quiz quiz;
 
   @OneToMany(mappedBy = "question", cascade = CascadeType.ALL, orphanRemoval = true)
+  @BatchSize(size = 50)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question-answers")
+  @ToString.Exclude
   private List<Answer> answers;
 
   private boolean deleted = false;
 
+  // Same identity rules as Quiz
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o))
+      return false;
+    return id != null && id.equals(((Question) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClass(this).hashCode();
+  }
+
 }
@@ -4,25 +4,59 @@ import java.util.List;
 
 import javax.persistence.*;
 
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.action.internal.OrphanRemovalAction;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cascade;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz")
 @NoArgsConstructor
-@Data
+@Getter
+@Setter
+@ToString
 public class Quiz {
 
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_seq")
+  @SequenceGenerator(name = "quiz_seq", sequenceName = "quiz_seq", allocationSize = 50)
   private Long id;
 
   private String name;
 
   @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
+  @BatchSize(size = 50)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "quiz-questions")
+  @ToString.Exclude
   private List<Question> questions;
 
   private boolean deleted = false;
 
+  // Bumped on every edit to the quiz, its questions or its answers (see QuizServiceImpl)
+  @Version
+  private long version;
+
+  // Identity equality: two instances are equal when they stand for the same row. Associations are never
+  // read, so equals, hashCode and toString cannot load lazy collections or recurse through the graph.
+  // The hash is fixed per class so it stays the same when the id is assigned on persist.
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o))
+      return false;
+    return id != null && id.equals(((Quiz) o).getId());
+  }
+
+  @Override
+  public int hashCode() {
+    return Hibernate.getClass(this).hashCode();
+  }
+
 }
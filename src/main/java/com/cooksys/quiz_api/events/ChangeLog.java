@@ -0,0 +1,233 @@
+package com.cooksys.quiz_api.events;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import com.cooksys.quiz_api.dtos.ChangeEventDto;
+import com.cooksys.quiz_api.dtos.ChangeKind;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * In-process log of committed quiz changes, kept in a ring of the last quiz.events.buffer-size events and
+ * streamed to Server-Sent Events subscribers.
+ *
+ * Publishing appends to the ring and wakes the subscribers, it never waits on them. Each subscriber drains the
+ * ring from its own position on a thread of its own, so one slow connection holds up nobody else. A subscriber
+ * that falls so far behind that the ring has wrapped past its position, or that resumes from an id the ring no
+ * longer holds, gets a single "reset" event in place of the events it missed: it should re-read what it needs
+ * and carry on from the reset's id.
+ *
+ * Ids start from the clock at startup, a thousand per millisecond, so every run numbers its events above those
+ * of the runs before it. An id from an earlier run is older than anything in the ring and is answered with a
+ * reset rather than resumed against another run's events.
+ */
+@Component
+public class ChangeLog {
+
+  public static final String CHANGE = "change";
+  public static final String RESET = "reset";
+
+  private static final int DRAIN_BATCH = 100;
+
+  private final ChangeEventDto[] ring;
+
+  private static final long IDS_PER_MILLI = 1000;
+
+  // Id of the first event of this run
+  private final long first;
+
+  // Id of the next event, guarded by this
+  private long next;
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+  private final int maxSubscribers;
+
+  private final long timeoutMs;
+
+  private final ThreadPoolExecutor dispatcher;
+
+  private final Counter published;
+
+  private final Counter resets;
+
+  @Autowired
+  public ChangeLog(@Value("${quiz.events.buffer-size:4096}") int bufferSize,
+      @Value("${quiz.events.max-subscribers:256}") int maxSubscribers,
+      @Value("${quiz.events.timeout-ms:1800000}") long timeoutMs, MeterRegistry registry) {
+    this(bufferSize, maxSubscribers, timeoutMs, registry, System.currentTimeMillis() * IDS_PER_MILLI + 1);
+  }
+
+  ChangeLog(int bufferSize, int maxSubscribers, long timeoutMs, MeterRegistry registry, long firstId) {
+    this.first = firstId;
+    this.next = firstId;
+    this.ring = new ChangeEventDto[bufferSize];
+    this.maxSubscribers = maxSubscribers;
+    this.timeoutMs = timeoutMs;
+    // At most one drain task per subscriber is ever queued, so one thread each is the most this can grow to
+    this.dispatcher = new ThreadPoolExecutor(0, maxSubscribers, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "change-events");
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.published = registry.counter("quiz.events.published");
+    this.resets = registry.counter("quiz.events.resets");
+    registry.gauge("quiz.events.subscribers", subscribers, Set::size);
+  }
+
+  /**
+   * Records a change to the quiz once the current transaction commits, nothing is published if it rolls back.
+   * The version is read at that point, after the quiz row has been written.
+   */
+  public void publish(Quiz quiz, ChangeKind kind) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      append(quiz.getId(), kind, quiz.getVersion());
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        append(quiz.getId(), kind, quiz.getVersion());
+      }
+    });
+  }
+
+  private void append(Long quizId, ChangeKind kind, long version) {
+    synchronized (this) {
+      ring[(int) (next % ring.length)] = new ChangeEventDto(next, quizId, kind, version);
+      next++;
+    }
+    published.increment();
+    subscribers.forEach(Subscriber::wake);
+  }
+
+  public synchronized long lastId() {
+    return next - 1;
+  }
+
+  // Events after the given id, oldest first, or null when the ring no longer holds all of them
+  synchronized List<ChangeEventDto> since(long after, int max) {
+    long oldest = Math.max(first, next - ring.length);
+    if (after < oldest - 1 || after > next - 1)
+      return null;
+    List<ChangeEventDto> events = new ArrayList<>((int) Math.min(max, next - 1 - after));
+    for (long id = after + 1; id < next && events.size() < max; id++)
+      events.add(ring[(int) (id % ring.length)]);
+    return events;
+  }
+
+  /**
+   * Opens a stream of the changes after lastEventId, or of new changes only when it is null. Browsers pass the
+   * last id they saw back in the Last-Event-ID header when they reconnect.
+   */
+  public SseEmitter subscribe(Long lastEventId) {
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    subscribe(lastEventId, emitter);
+    return emitter;
+  }
+
+  void subscribe(Long lastEventId, SseEmitter emitter) {
+    if (subscribers.size() >= maxSubscribers)
+      throw new ServiceUnavailableException("Too Many Change Event Subscribers, Try Again Later");
+    Subscriber subscriber = new Subscriber(emitter, lastEventId == null ? lastId() : lastEventId);
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(e -> subscribers.remove(subscriber));
+    subscribers.add(subscriber);
+    subscriber.wake();
+  }
+
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    dispatcher.shutdownNow();
+  }
+
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+
+    // Id of the last event sent, only touched by the drain task
+    private long position;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private Subscriber(SseEmitter emitter, long position) {
+      this.emitter = emitter;
+      this.position = position;
+    }
+
+    void wake() {
+      if (!scheduled.compareAndSet(false, true))
+        return;
+      try {
+        dispatcher.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        close();
+      }
+    }
+
+    private void drain() {
+      try {
+        List<ChangeEventDto> events;
+        while ((events = since(position, DRAIN_BATCH)) == null || !events.isEmpty()) {
+          if (events == null) {
+            // Too far behind to replay: one reset stands for everything missed
+            position = lastId();
+            resets.increment();
+            emitter.send(SseEmitter.event().id(String.valueOf(position)).name(RESET)
+                .data(Map.of("id", position), MediaType.APPLICATION_JSON));
+            continue;
+          }
+          for (ChangeEventDto event : events) {
+            emitter.send(SseEmitter.event().id(String.valueOf(event.getId())).name(CHANGE)
+                .data(event, MediaType.APPLICATION_JSON));
+            position = event.getId();
+          }
+        }
+      } catch (IOException | IllegalStateException e) {
+        // The client went away or the emitter already completed
+        close();
+        return;
+      } finally {
+        scheduled.set(false);
+      }
+      // An event appended after the last read but before the flag was cleared found the task still scheduled
+      if (position < lastId())
+        wake();
+    }
+
+    private void close() {
+      subscribers.remove(this);
+      emitter.complete();
+    }
+  }
+
+}
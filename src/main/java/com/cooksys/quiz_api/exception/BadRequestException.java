@@ -7,7 +7,7 @@ import lombok.Setter;
 @AllArgsConstructor
 @Getter
 @Setter
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends StacklessException {
 
     private static final long serialVersionUID = -2026814081624680271L;
 
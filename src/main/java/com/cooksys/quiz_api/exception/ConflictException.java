@@ -0,0 +1,15 @@
+package com.cooksys.quiz_api.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@AllArgsConstructor
+@Getter
+@Setter
+public class ConflictException extends StacklessException {
+
+    private static final long serialVersionUID = 4218867359602148120L;
+
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.cooksys.quiz_api.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@AllArgsConstructor
+@Getter
+@Setter
+public class PreconditionFailedException extends StacklessException {
+
+    private static final long serialVersionUID = -2740396631584122557L;
+
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.cooksys.quiz_api.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@AllArgsConstructor
+@Getter
+@Setter
+public class ServiceUnavailableException extends StacklessException {
+
+    private static final long serialVersionUID = 7186953820146310298L;
+
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.cooksys.quiz_api.exception;
+
+/**
+ * Base for exceptions that only ever report a client error. They carry no stack trace
+ * (nor suppressed exceptions), so throwing one costs about as much as allocating it.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    private static final long serialVersionUID = 3524110871432650811L;
+
+    protected StacklessException() {
+        super(null, null, false, false);
+    }
+}
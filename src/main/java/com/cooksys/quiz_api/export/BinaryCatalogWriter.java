@@ -0,0 +1,77 @@
+package com.cooksys.quiz_api.export;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary export. The stream starts with the magic bytes "QZX" and a version byte, then one record per
+ * row, each a type byte followed by its fields, and ends with an {@link #END} byte:
+ *
+ * <pre>
+ * QUIZ     'Z' id:int64 flags:int8 name:string
+ * QUESTION 'Q' id:int64 flags:int8 text:string
+ * ANSWER   'A' id:int64 flags:int8 text:string
+ * </pre>
+ *
+ * Strings are a big-endian int32 byte length followed by UTF-8 bytes, -1 for null. Flags: bit 0 deleted, bit 1
+ * correct (answers only).
+ */
+public final class BinaryCatalogWriter implements CatalogWriter {
+
+  public static final byte[] MAGIC = { 'Q', 'Z', 'X' };
+  public static final byte VERSION = 1;
+
+  public static final byte QUIZ = 'Z';
+  public static final byte QUESTION = 'Q';
+  public static final byte ANSWER = 'A';
+  public static final byte END = 'E';
+
+  public static final int DELETED = 1;
+  public static final int CORRECT = 2;
+
+  private final DataOutputStream out;
+
+  public BinaryCatalogWriter(OutputStream out) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+    this.out.write(MAGIC);
+    this.out.writeByte(VERSION);
+  }
+
+  @Override
+  public void quiz(long id, String name, boolean deleted) throws IOException {
+    record(QUIZ, id, deleted ? DELETED : 0, name);
+  }
+
+  @Override
+  public void question(long id, String text, boolean deleted) throws IOException {
+    record(QUESTION, id, deleted ? DELETED : 0, text);
+  }
+
+  @Override
+  public void answer(long id, String text, boolean correct, boolean deleted) throws IOException {
+    record(ANSWER, id, (deleted ? DELETED : 0) | (correct ? CORRECT : 0), text);
+  }
+
+  private void record(byte type, long id, int flags, String text) throws IOException {
+    out.writeByte(type);
+    out.writeLong(id);
+    out.writeByte(flags);
+    if (text == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  @Override
+  public void finish() throws IOException {
+    out.writeByte(END);
+    out.flush();
+  }
+
+}
@@ -0,0 +1,21 @@
+package com.cooksys.quiz_api.export;
+
+import java.io.IOException;
+
+/**
+ * Receives the catalog as a flat, ordered series of records: each quiz is followed by its questions and each
+ * question by its answers, so a reader rebuilds the tree from record order alone and nothing is buffered.
+ * Soft-deleted rows are included and flagged.
+ */
+public interface CatalogWriter {
+
+  void quiz(long id, String name, boolean deleted) throws IOException;
+
+  void question(long id, String text, boolean deleted) throws IOException;
+
+  void answer(long id, String text, boolean correct, boolean deleted) throws IOException;
+
+  // Writes the end of the export and flushes, without closing the underlying stream
+  void finish() throws IOException;
+
+}
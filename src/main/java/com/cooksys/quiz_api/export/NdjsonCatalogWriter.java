@@ -0,0 +1,70 @@
+package com.cooksys.quiz_api.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+/**
+ * Gzipped newline-delimited JSON export, one flat object per record, e.g.
+ * {"type":"answer","id":7,"text":"Yes","correct":true,"deleted":false}. Readable by any JSON tooling after gunzip.
+ */
+public final class NdjsonCatalogWriter implements CatalogWriter {
+
+  private final GZIPOutputStream gzip;
+
+  private final JsonGenerator generator;
+
+  public NdjsonCatalogWriter(OutputStream out, JsonFactory jsonFactory) throws IOException {
+    this.gzip = new GZIPOutputStream(out, 64 * 1024);
+    this.generator = jsonFactory.createGenerator(gzip, JsonEncoding.UTF8);
+    this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+  }
+
+  @Override
+  public void quiz(long id, String name, boolean deleted) throws IOException {
+    start("quiz", id);
+    generator.writeStringField("name", name);
+    end(deleted);
+  }
+
+  @Override
+  public void question(long id, String text, boolean deleted) throws IOException {
+    start("question", id);
+    generator.writeStringField("text", text);
+    end(deleted);
+  }
+
+  @Override
+  public void answer(long id, String text, boolean correct, boolean deleted) throws IOException {
+    start("answer", id);
+    generator.writeStringField("text", text);
+    generator.writeBooleanField("correct", correct);
+    end(deleted);
+  }
+
+  private void start(String type, long id) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("type", type);
+    generator.writeNumberField("id", id);
+  }
+
+  private void end(boolean deleted) throws IOException {
+    generator.writeBooleanField("deleted", deleted);
+    generator.writeEndObject();
+  }
+
+  @Override
+  public void finish() throws IOException {
+    generator.writeRaw('\n');
+    generator.flush();
+    gzip.finish();
+    gzip.flush();
+  }
+
+}
@@ -4,15 +4,22 @@ import java.util.List;
 
 import com.cooksys.quiz_api.dtos.QuestionRequestDto;
 import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.entities.Answer;
 import com.cooksys.quiz_api.entities.Question;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring", uses = { AnswerMapper.class })
 public interface QuestionMapper {
 
   QuestionResponseDto entityToDto(Question entity);
 
+  @Mapping(target = "id", source = "entity.id")
+  @Mapping(target = "text", source = "entity.text")
+  @Mapping(target = "answers", source = "liveAnswers")
+  QuestionResponseDto entityToDto(Question entity, List<Answer> liveAnswers);
+
   List<QuestionResponseDto> entitiesToDtos(List<Question> entities);
 
   Question requestDtoToEntity(QuestionRequestDto questionRequestDto);
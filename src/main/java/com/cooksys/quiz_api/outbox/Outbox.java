@@ -0,0 +1,38 @@
+package com.cooksys.quiz_api.outbox;
+
+import java.time.Instant;
+
+import com.cooksys.quiz_api.dtos.ChangeKind;
+import com.cooksys.quiz_api.entities.OutboxEvent;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.repositories.OutboxEventRepository;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records quiz changes for {@link OutboxRelay} in the transaction that makes them, so a change and its event
+ * commit or roll back together. Calling it outside a transaction is an error rather than a separate write.
+ */
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+
+  private final OutboxEventRepository outboxEventRepository;
+
+  // The quiz must already carry the version the change leaves it at, i.e. the quiz row has been written
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(Quiz quiz, ChangeKind kind) {
+    OutboxEvent event = new OutboxEvent();
+    event.setQuizId(quiz.getId());
+    event.setKind(kind);
+    event.setVersion(quiz.getVersion());
+    event.setCreatedAt(Instant.now());
+    event.setAvailableAt(event.getCreatedAt());
+    outboxEventRepository.save(event);
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.cooksys.quiz_api.outbox;
+
+import java.util.List;
+
+import com.cooksys.quiz_api.dtos.ChangeEventDto;
+
+/**
+ * Downstream receiver of the events {@link OutboxRelay} drains from the outbox, a batch at a time in id order.
+ * Delivery is at least once: a batch is only removed from the outbox after accept returns, so a failure, a crash
+ * or a delivery that outlasts quiz.outbox.relay.delivery-timeout-ms delivers it again. Consumers should skip
+ * event ids they have already seen, and use the quiz version to ignore changes older than one they have applied.
+ * After a failed batch the same events also arrive one at a time.
+ */
+public interface OutboxConsumer {
+
+  void accept(List<ChangeEventDto> events) throws Exception;
+
+}
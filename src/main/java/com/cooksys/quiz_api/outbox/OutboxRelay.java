@@ -0,0 +1,166 @@
+package com.cooksys.quiz_api.outbox;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.cooksys.quiz_api.dtos.ChangeEventDto;
+import com.cooksys.quiz_api.entities.OutboxEvent;
+import com.cooksys.quiz_api.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the outbox into the {@link OutboxConsumer} every quiz.outbox.relay.interval-ms, in batches of
+ * quiz.outbox.relay.batch-size. A batch is claimed in a short transaction: its rows are locked with SKIP LOCKED
+ * and made unavailable to other relays for quiz.outbox.relay.delivery-timeout-ms. The consumer then runs with no
+ * transaction, lock or connection held, and a second short transaction deletes what it took. Every node can run
+ * a relay: they share the backlog without waiting on each other, and a batch whose relay dies mid-delivery is
+ * taken again once its timeout passes. Batches taken by different nodes can be delivered out of order, which is
+ * what the quiz version in each event is for.
+ *
+ * When a batch fails, its events are retried one at a time, so one event the consumer cannot take does not hold
+ * up the others. Each event that still fails counts an attempt and backs off, doubling from
+ * quiz.outbox.relay.backoff-ms. After quiz.outbox.relay.max-attempts it is set aside as a dead letter, left in
+ * the table and no longer relayed.
+ *
+ * quiz.outbox.relay.enabled=false leaves the events in the outbox, for nodes that should not relay.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final OutboxEventRepository outboxEventRepository;
+
+  private final OutboxConsumer consumer;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final int batchSize;
+
+  private final long deliveryTimeoutMs;
+
+  private final long backoffMs;
+
+  private final int maxAttempts;
+
+  private final Counter relayed;
+
+  private final Counter failures;
+
+  private final Counter deadLetters;
+
+  public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxConsumer consumer,
+      TransactionTemplate transactionTemplate, @Value("${quiz.outbox.relay.batch-size:100}") int batchSize,
+      @Value("${quiz.outbox.relay.delivery-timeout-ms:60000}") long deliveryTimeoutMs,
+      @Value("${quiz.outbox.relay.backoff-ms:1000}") long backoffMs,
+      @Value("${quiz.outbox.relay.max-attempts:10}") int maxAttempts, MeterRegistry registry) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.consumer = consumer;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.deliveryTimeoutMs = deliveryTimeoutMs;
+    this.backoffMs = backoffMs;
+    this.maxAttempts = maxAttempts;
+    this.relayed = registry.counter("quiz.outbox.relayed");
+    this.failures = registry.counter("quiz.outbox.failures");
+    this.deadLetters = registry.counter("quiz.outbox.dead-letters");
+  }
+
+  @Scheduled(fixedDelayString = "${quiz.outbox.relay.interval-ms:1000}",
+      initialDelayString = "${quiz.outbox.relay.interval-ms:1000}")
+  public void relay() {
+    // Keeps going while batches come back full, a short batch means the backlog is drained
+    try {
+      while (relayBatch() == batchSize)
+        ;
+    } catch (RuntimeException e) {
+      failures.increment();
+      log.warn("Outbox relay failed, undelivered events stay in the outbox for a later run: {}", e.toString());
+    }
+  }
+
+  /**
+   * Delivers and removes one batch, returning its size. Throws if any event of it could not be delivered, those
+   * events stay in the outbox and are retried after their backoff.
+   */
+  public int relayBatch() {
+    List<OutboxEvent> batch = claimNextBatch();
+    if (batch.isEmpty())
+      return 0;
+    List<OutboxEvent> delivered = new ArrayList<>();
+    List<OutboxEvent> undelivered = new ArrayList<>();
+    Exception failure = deliver(batch, delivered, undelivered);
+    // One event the consumer cannot take must not hold up the rest of its batch
+    if (failure != null && batch.size() > 1) {
+      undelivered.clear();
+      for (OutboxEvent event : batch) {
+        Exception eventFailure = deliver(List.of(event), delivered, undelivered);
+        failure = eventFailure != null ? eventFailure : failure;
+      }
+      failure = undelivered.isEmpty() ? null : failure;
+    }
+    settle(delivered, undelivered);
+    if (failure instanceof RuntimeException)
+      throw (RuntimeException) failure;
+    if (failure != null)
+      throw new IllegalStateException("Outbox consumer failed", failure);
+    return batch.size();
+  }
+
+  private List<OutboxEvent> claimNextBatch() {
+    return transactionTemplate.execute(status -> {
+      Instant now = Instant.now();
+      List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(now, batchSize);
+      batch.forEach(event -> event.setAvailableAt(now.plusMillis(deliveryTimeoutMs)));
+      return batch;
+    });
+  }
+
+  // Adds the events to delivered or undelivered, returning what the consumer threw if it failed
+  private Exception deliver(List<OutboxEvent> events, List<OutboxEvent> delivered, List<OutboxEvent> undelivered) {
+    try {
+      consumer.accept(events.stream()
+          .map(event -> new ChangeEventDto(event.getId(), event.getQuizId(), event.getKind(), event.getVersion()))
+          .collect(Collectors.toList()));
+      delivered.addAll(events);
+      return null;
+    } catch (Exception e) {
+      undelivered.addAll(events);
+      return e;
+    }
+  }
+
+  // Rows a relay that took over after the delivery timeout has already removed are simply not found
+  private void settle(List<OutboxEvent> delivered, List<OutboxEvent> undelivered) {
+    transactionTemplate.executeWithoutResult(status -> {
+      if (!delivered.isEmpty())
+        outboxEventRepository.deleteAllByIdInBatch(delivered.stream().map(OutboxEvent::getId).collect(Collectors.toList()));
+      Instant now = Instant.now();
+      for (OutboxEvent event : outboxEventRepository.findAllById(undelivered.stream().map(OutboxEvent::getId)
+          .collect(Collectors.toList()))) {
+        event.setAttempts(event.getAttempts() + 1);
+        if (event.getAttempts() >= maxAttempts) {
+          event.setDeadLetter(true);
+          deadLetters.increment();
+          log.error("Outbox event {} set aside after {} failed deliveries", event.getId(), event.getAttempts());
+        } else {
+          event.setAvailableAt(now.plusMillis(backoffMs << Math.min(event.getAttempts() - 1, 20)));
+        }
+      }
+    });
+    relayed.increment(delivered.size());
+  }
+
+}
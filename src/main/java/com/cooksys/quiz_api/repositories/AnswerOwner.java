@@ -0,0 +1,16 @@
+package com.cooksys.quiz_api.repositories;
+
+// Projection of an answer row, its question and its quiz, for ownership checks that load none of the entities
+public interface AnswerOwner {
+
+    boolean isDeleted();
+
+    Long getQuestionId();
+
+    boolean isQuestionDeleted();
+
+    Long getQuizId();
+
+    boolean isQuizDeleted();
+
+}
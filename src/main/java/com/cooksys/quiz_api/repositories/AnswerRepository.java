@@ -3,9 +3,12 @@ package com.cooksys.quiz_api.repositories;
 import com.cooksys.quiz_api.entities.Answer;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.util.List;
 import java.util.Optional;
 
 // You may think you don't need this Repository, but remember each Repository interface
@@ -14,7 +17,18 @@ import java.util.Optional;
 // without using this interface.
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
-    Optional<Answer> findByIdAndDeletedFalse(Long aId);
+    // Served from the second-level cache, see QuizRepository.findByIdAndDeletedFalse
+    default Optional<Answer> findByIdAndDeletedFalse(Long aId) {
+        return findById(aId).filter(answer -> !answer.isDeleted());
+    }
+
+    List<Answer> findByQuestionIdAndDeletedFalseOrderByIdAsc(Long questionId);
+
+    // Primary key lookups only, however many questions and answers the quiz has
+    @Query("select a.deleted as deleted, qu.id as questionId, qu.deleted as questionDeleted, "
+            + "z.id as quizId, z.deleted as quizDeleted "
+            + "from Answer a join a.question qu join qu.quiz z where a.id = :id")
+    Optional<AnswerOwner> findOwnerById(@Param("id") Long id);
 
     // TODO: Do you need any derived queries? If so add them here.
 
@@ -0,0 +1,15 @@
+package com.cooksys.quiz_api.repositories;
+
+import com.cooksys.quiz_api.entities.AnswerStatistic;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AnswerStatisticRepository extends JpaRepository<AnswerStatistic, Long> {
+
+    List<AnswerStatistic> findByQuizId(Long quizId);
+
+}
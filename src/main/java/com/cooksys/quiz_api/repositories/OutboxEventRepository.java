@@ -0,0 +1,22 @@
+package com.cooksys.quiz_api.repositories;
+
+import com.cooksys.quiz_api.entities.OutboxEvent;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest events available for delivery, locked until the transaction ends. Rows another relay has locked are
+    // skipped rather than waited on, so relays on several nodes each take a different batch. Postgres only.
+    @Query(value = "select * from outbox_event where dead_letter = false and available_at <= :now "
+            + "order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+}
@@ -0,0 +1,12 @@
+package com.cooksys.quiz_api.repositories;
+
+// Projection of a question row and the quiz it belongs to, for ownership checks that load neither entity
+public interface QuestionOwner {
+
+    boolean isDeleted();
+
+    Long getQuizId();
+
+    boolean isQuizDeleted();
+
+}
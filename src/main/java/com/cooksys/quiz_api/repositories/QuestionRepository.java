@@ -3,9 +3,13 @@ package com.cooksys.quiz_api.repositories;
 import com.cooksys.quiz_api.entities.Question;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 // You may think you don't need this Repository, but remember each Repository interface
@@ -17,6 +21,26 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
 
   // TODO: Do you need any derived queries? If so add them here.
 
-    Optional<Question> findByIdAndDeletedFalse(Long id);
+    // Served from the second-level cache, see QuizRepository.findByIdAndDeletedFalse
+    default Optional<Question> findByIdAndDeletedFalse(Long id) {
+        return findById(id).filter(question -> !question.isDeleted());
+    }
+
+    // Primary key lookups only, however many questions the quiz has
+    @Query("select qu.deleted as deleted, z.id as quizId, z.deleted as quizDeleted "
+            + "from Question qu join qu.quiz z where qu.id = :id")
+    Optional<QuestionOwner> findOwnerById(@Param("id") Long id);
+
+    // Initializes the answers of every question in the given quizzes with a single statement
+    @Query("select distinct qu from Question qu left join fetch qu.answers where qu.quiz.id in :quizIds")
+    List<Question> findWithAnswersByQuizIdIn(@Param("quizIds") Collection<Long> quizIds);
+
+    // Live questions of a quiz with all their answers, deleted answers still need to be filtered out by the caller
+    @Query("select distinct qu from Question qu left join fetch qu.answers where qu.quiz.id = :quizId "
+            + "and qu.deleted = false order by qu.id")
+    List<Question> findLiveWithAnswersByQuizId(@Param("quizId") Long quizId);
+
+    @Query("select qu.id from Question qu where qu.quiz.id = :quizId and qu.deleted = false order by qu.id")
+    List<Long> findLiveIdsByQuizId(@Param("quizId") Long quizId);
 
 }
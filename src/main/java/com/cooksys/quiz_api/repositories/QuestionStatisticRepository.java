@@ -0,0 +1,15 @@
+package com.cooksys.quiz_api.repositories;
+
+import com.cooksys.quiz_api.entities.QuestionStatistic;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionStatisticRepository extends JpaRepository<QuestionStatistic, Long> {
+
+    List<QuestionStatistic> findByQuizId(Long quizId);
+
+}
@@ -1,20 +1,69 @@
 package com.cooksys.quiz_api.repositories;
 
+import com.cooksys.quiz_api.dtos.QuizSummaryDto;
+import com.cooksys.quiz_api.dtos.QuizVersionDto;
 import com.cooksys.quiz_api.entities.Quiz;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
 
   // TODO: Do you need any derived queries? If so add them here.
 
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"))
     List<Quiz> findAllByDeletedFalse();
-    Optional<Quiz> findByIdAndDeletedFalse(Long id);
+
+    // Id lookups go through findById so they are answered from the second-level cache, which is invalidated
+    // per entity, rather than by a query whose cached results are dropped on every write to the table
+    default Optional<Quiz> findByIdAndDeletedFalse(Long id) {
+        return findById(id).filter(quiz -> !quiz.isDeleted());
+    }
+
+    default boolean existsByIdAndDeletedFalse(Long id) {
+        return findByIdAndDeletedFalse(id).isPresent();
+    }
+
+    // Same lookup, but with the questions join fetched so rendering the quiz doesn't fire one SELECT per collection
+    @EntityGraph(attributePaths = "questions")
+    Optional<Quiz> findWithQuestionsByIdAndDeletedFalse(Long id);
+
+    // Keyset page: ids of live quizzes strictly after the cursor, in id order
+    @Query("select q.id from Quiz q where q.deleted = false and q.id > :afterId order by q.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset page of summaries built straight into DTOs, no entities are loaded. The count of live questions is a
+    // correlated subquery answered from the question_live_quiz_id_idx index; answers are never read.
+    @Query("select new com.cooksys.quiz_api.dtos.QuizSummaryDto(q.id, q.name,"
+            + " (select count(qu) from Question qu where qu.quiz = q and qu.deleted = false))"
+            + " from Quiz q where q.deleted = false and q.id > :afterId order by q.id")
+    List<QuizSummaryDto> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Id and version of each quiz on a keyset page, enough to tell whether a page a client holds is still current
+    @Query("select new com.cooksys.quiz_api.dtos.QuizVersionDto(q.id, q.version)"
+            + " from Quiz q where q.deleted = false and q.id > :afterId order by q.id")
+    List<QuizVersionDto> findVersionsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Forward-only cursor over every live quiz id, must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select q.id from Quiz q where q.deleted = false order by q.id")
+    Stream<Long> streamIds();
+
+    // Quizzes plus their questions in one statement, pair with QuestionRepository.findWithAnswersByQuizIdIn
+    @Query("select distinct q from Quiz q left join fetch q.questions where q.id in :ids order by q.id")
+    List<Quiz> findWithQuestionsByIdIn(@Param("ids") Collection<Long> ids);
 
 }
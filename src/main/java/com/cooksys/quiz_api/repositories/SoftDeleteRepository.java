@@ -0,0 +1,73 @@
+package com.cooksys.quiz_api.repositories;
+
+import com.cooksys.quiz_api.entities.Answer;
+import com.cooksys.quiz_api.entities.Question;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+
+/**
+ * Flags the questions and answers of a quiz, or the answers of a question, as deleted with one UPDATE per table.
+ *
+ * A bulk HQL update would make Hibernate clear the whole question and answer regions of the second-level cache,
+ * and the collection regions holding them. These updates go through JDBC on the transaction's connection instead,
+ * and only the entries of the rows given by the caller are locked, the way Hibernate locks an entity it updates:
+ * they read as misses until the transaction ends, and loads that started before it ends are not cached. Soft
+ * deletes do not change which rows a collection holds, so the collection entries stay valid.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SoftDeleteRepository {
+
+    static final String DELETE_ANSWERS_OF_QUIZ = "update answer set deleted = true where deleted = false "
+            + "and question_id in (select id from question where quiz_id = ?)";
+    static final String DELETE_QUESTIONS_OF_QUIZ = "update question set deleted = true where quiz_id = ? and deleted = false";
+    static final String DELETE_ANSWERS_OF_QUESTION = "update answer set deleted = true where question_id = ? and deleted = false";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    // questions are the loaded questions of the quiz, answers included
+    public void deleteQuestionsOf(Long quizId, Collection<Question> questions) {
+        entityManager.flush();
+        jdbcTemplate.update(DELETE_ANSWERS_OF_QUIZ, quizId);
+        jdbcTemplate.update(DELETE_QUESTIONS_OF_QUIZ, quizId);
+        for (Question question : questions) {
+            lock(Question.class, question.getId());
+            lockAnswers(question);
+        }
+    }
+
+    // question is the loaded question, answers included
+    public void deleteAnswersOf(Question question) {
+        entityManager.flush();
+        jdbcTemplate.update(DELETE_ANSWERS_OF_QUESTION, question.getId());
+        lockAnswers(question);
+    }
+
+    private void lockAnswers(Question question) {
+        if (question.getAnswers() != null)
+            for (Answer answer : question.getAnswers())
+                lock(Answer.class, answer.getId());
+    }
+
+    private void lock(Class<?> type, Long id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(type);
+        if (!persister.canWriteToCache())
+            return;
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        Object key = access.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+        SoftLock lock = access.lockItem(session, key, null);
+        session.getActionQueue().registerProcess((success, completed) -> access.unlockItem(completed, key, lock));
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.cooksys.quiz_api.scoring;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.cooksys.quiz_api.dtos.SelectionDto;
+import com.cooksys.quiz_api.entities.Answer;
+import com.cooksys.quiz_api.entities.Question;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable answer key for one quiz. Live answer ids are kept sorted in a primitive
+ * array next to the id of the question owning each one, and the correct answers are a
+ * bitset over those positions, so grading a selection is a binary search and a bit test.
+ *
+ * Edits produce a new index from the current one (copy-on-write) instead of reloading
+ * the quiz from the database. They are idempotent, as an edit may reach an index that was
+ * already loaded with it.
+ */
+public final class ScoringIndex {
+
+  private final long[] questionIds;
+
+  private final long[] answerIds;
+
+  private final long[] answerQuestionIds;
+
+  private final long[] correct;
+
+  private ScoringIndex(long[] questionIds, long[] answerIds, long[] answerQuestionIds, long[] correct) {
+    this.questionIds = questionIds;
+    this.answerIds = answerIds;
+    this.answerQuestionIds = answerQuestionIds;
+    this.correct = correct;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static final class Score {
+
+    private final int answered;
+
+    private final int correct;
+
+  }
+
+  /**
+   * Told about every graded selection; validAnswer is false when the answer does not belong to the question.
+   */
+  @FunctionalInterface
+  public interface Listener {
+
+    void graded(long questionId, long answerId, boolean validAnswer, boolean correct);
+
+  }
+
+  /**
+   * Builds the index from live questions whose answers are loaded; deleted questions and answers are skipped.
+   */
+  public static ScoringIndex of(Collection<Question> questions) {
+    Builder builder = new Builder();
+    for (Question question : questions)
+      builder.add(question);
+    return builder.build();
+  }
+
+  // Replaces any rows already held for the question, so applying the same edit twice leaves one copy
+  public ScoringIndex withQuestion(Question question) {
+    return toBuilder(question.getId(), -1L).add(question).build();
+  }
+
+  public ScoringIndex withoutQuestion(long questionId) {
+    return toBuilder(questionId, -1L).build();
+  }
+
+  public ScoringIndex withoutAnswer(long answerId) {
+    return toBuilder(-1L, answerId).build();
+  }
+
+  public int questionCount() {
+    return questionIds.length;
+  }
+
+  /**
+   * One selection per question counts: the first selection for a question is graded and later ones are ignored.
+   * A selection is correct when it names a correct answer that belongs to the selected question.
+   */
+  public Score score(List<SelectionDto> selections) {
+    return score(selections, null);
+  }
+
+  public Score score(List<SelectionDto> selections, Listener listener) {
+    long[] seen = new long[(questionIds.length + 63) >>> 6];
+    int answered = 0;
+    int correctCount = 0;
+    for (int i = 0; i < selections.size(); i++) {
+      SelectionDto selection = selections.get(i);
+      int question = Arrays.binarySearch(questionIds, selection.getQuestionId());
+      if (question < 0 || (seen[question >>> 6] & (1L << question)) != 0)
+        continue;
+      seen[question >>> 6] |= 1L << question;
+      answered++;
+      int answer = Arrays.binarySearch(answerIds, selection.getAnswerId());
+      boolean validAnswer = answer >= 0 && answerQuestionIds[answer] == questionIds[question];
+      boolean isCorrect = validAnswer && (correct[answer >>> 6] & (1L << answer)) != 0;
+      if (isCorrect)
+        correctCount++;
+      if (listener != null)
+        listener.graded(questionIds[question], selection.getAnswerId(), validAnswer, isCorrect);
+    }
+    return new Score(answered, correctCount);
+  }
+
+  private Builder toBuilder(long skipQuestionId, long skipAnswerId) {
+    Builder builder = new Builder();
+    for (long questionId : questionIds)
+      if (questionId != skipQuestionId)
+        builder.addQuestion(questionId);
+    for (int i = 0; i < answerIds.length; i++)
+      if (answerQuestionIds[i] != skipQuestionId && answerIds[i] != skipAnswerId)
+        builder.addAnswer(answerIds[i], answerQuestionIds[i], (correct[i >>> 6] & (1L << i)) != 0);
+    return builder;
+  }
+
+  // Accumulates unsorted rows, then sorts them into the parallel arrays of the index
+  private static final class Builder {
+
+    private long[] questionIds = new long[16];
+    private int questions;
+    private long[] answerIds = new long[64];
+    private long[] owners = new long[64];
+    private boolean[] flags = new boolean[64];
+    private int answers;
+
+    private Builder add(Question question) {
+      if (question.isDeleted())
+        return this;
+      addQuestion(question.getId());
+      if (question.getAnswers() != null)
+        for (Answer answer : question.getAnswers())
+          if (!answer.isDeleted())
+            addAnswer(answer.getId(), question.getId(), answer.isCorrect());
+      return this;
+    }
+
+    private void addQuestion(long questionId) {
+      if (questions == questionIds.length)
+        questionIds = Arrays.copyOf(questionIds, questions * 2);
+      questionIds[questions++] = questionId;
+    }
+
+    private void addAnswer(long answerId, long questionId, boolean isCorrect) {
+      if (answers == answerIds.length) {
+        answerIds = Arrays.copyOf(answerIds, answers * 2);
+        owners = Arrays.copyOf(owners, answers * 2);
+        flags = Arrays.copyOf(flags, answers * 2);
+      }
+      answerIds[answers] = answerId;
+      owners[answers] = questionId;
+      flags[answers++] = isCorrect;
+    }
+
+    private ScoringIndex build() {
+      long[] sortedQuestions = Arrays.copyOf(questionIds, questions);
+      Arrays.sort(sortedQuestions);
+
+      Integer[] order = new Integer[answers];
+      for (int i = 0; i < answers; i++)
+        order[i] = i;
+      Arrays.sort(order, (a, b) -> Long.compare(answerIds[a], answerIds[b]));
+
+      long[] sortedAnswers = new long[answers];
+      long[] sortedOwners = new long[answers];
+      long[] correct = new long[(answers + 63) >>> 6];
+      for (int i = 0; i < answers; i++) {
+        sortedAnswers[i] = answerIds[order[i]];
+        sortedOwners[i] = owners[order[i]];
+        if (flags[order[i]])
+          correct[i >>> 6] |= 1L << i;
+      }
+      return new ScoringIndex(sortedQuestions, sortedAnswers, sortedOwners, correct);
+    }
+  }
+
+}
@@ -0,0 +1,11 @@
+package com.cooksys.quiz_api.services;
+
+import java.io.IOException;
+
+import com.cooksys.quiz_api.export.CatalogWriter;
+
+public interface ExportService {
+
+  void exportCatalog(CatalogWriter writer) throws IOException;
+
+}
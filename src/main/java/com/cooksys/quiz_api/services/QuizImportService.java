@@ -0,0 +1,12 @@
+package com.cooksys.quiz_api.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.cooksys.quiz_api.dtos.ImportResponseDto;
+
+public interface QuizImportService {
+
+  ImportResponseDto importQuizzes(InputStream body) throws IOException;
+
+}
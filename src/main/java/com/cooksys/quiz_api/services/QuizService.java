@@ -2,6 +2,7 @@ package com.cooksys.quiz_api.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.cooksys.quiz_api.dtos.*;
 import org.springframework.http.ResponseEntity;
@@ -9,20 +10,40 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 
 public interface QuizService {
 
-  List<QuizResponseDto> getAllQuizzes();
+  List<QuizResponseDto> getQuizzes(Long after, int limit);
+
+  List<QuizSummaryDto> getQuizSummaries(Long after, int limit);
+
+  List<QuizVersionDto> getQuizVersions(Long after, int limit);
+
+  QuizResponseDto getQuiz(Long id);
+
+  long getQuizVersion(Long id);
+
+  void streamAllQuizzes(Consumer<QuizResponseDto> consumer);
 
   QuizResponseDto createQuiz(QuizRequestDto quizRequestDto);
 
-  QuizResponseDto deleteQuizById(Long id);
+  // The edits below take the quiz version the caller last saw, or null to apply to whatever version is current
 
-  QuizResponseDto renameQuiz(Long id, String newName);
+  QuizResponseDto deleteQuizById(Long id, Long expectedVersion);
+
+  QuizResponseDto renameQuiz(Long id, String newName, Long expectedVersion);
 
   QuestionResponseDto getRandomQuestion(Long id);
 
-  QuizResponseDto addQuestion(Long id, QuestionRequestDto questionRequestDto);
+  List<QuestionResponseDto> getLiveQuestions(Long id);
+
+  QuizResponseDto addQuestion(Long id, QuestionRequestDto questionRequestDto, Long expectedVersion);
+
+  QuestionResponseDto deleteQuestion(Long id, Long questionId, Long expectedVersion);
+
+  AnswerResponseDto deleteAnswer(Long id, Long qId, Long aId, Long expectedVersion);
+
+  SubmissionResponseDto submitAnswers(Long id, SubmissionRequestDto submissionRequestDto);
 
-  QuestionResponseDto deleteQuestion(Long id, Long questionId);
+  CacheStatsDto getCacheStats();
 
-  AnswerResponseDto deleteAnswer(Long id, Long qId, Long aId);
+  List<RegionStatsDto> getEntityCacheStats();
 
 }
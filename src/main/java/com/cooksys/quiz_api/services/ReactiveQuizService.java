@@ -0,0 +1,15 @@
+package com.cooksys.quiz_api.services;
+
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveQuizService {
+
+  Flux<QuizResponseDto> getQuizzes(Long after);
+
+  Mono<QuestionResponseDto> getRandomQuestion(Long id);
+
+}
@@ -0,0 +1,12 @@
+package com.cooksys.quiz_api.services;
+
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.SessionResponseDto;
+
+public interface SessionService {
+
+  SessionResponseDto startSession(Long quizId);
+
+  QuestionResponseDto drawQuestion(String sessionId);
+
+}
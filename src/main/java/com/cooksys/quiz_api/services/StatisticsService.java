@@ -0,0 +1,13 @@
+package com.cooksys.quiz_api.services;
+
+import com.cooksys.quiz_api.dtos.QuizStatsDto;
+
+public interface StatisticsService {
+
+  void record(Long quizId, long questionId, long answerId, boolean validAnswer, boolean correct);
+
+  QuizStatsDto getStats(Long quizId);
+
+  void flush();
+
+}
@@ -0,0 +1,81 @@
+package com.cooksys.quiz_api.services.impl;
+
+import com.cooksys.quiz_api.export.CatalogWriter;
+import com.cooksys.quiz_api.services.ExportService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    // Every row, deleted or not, in the order the writer expects: quiz, its questions, each followed by its answers
+    private static final String CATALOG = "select z.id, z.name, z.deleted, q.id, q.text, q.deleted, "
+            + "a.id, a.text, a.correct, a.deleted from quiz z "
+            + "left join question q on q.quiz_id = z.id "
+            + "left join answer a on a.question_id = q.id "
+            + "order by z.id, q.id, a.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public void exportCatalog(CatalogWriter writer) throws IOException {
+        // Forward-only cursor with a fetch size, inside a transaction so Postgres streams it instead of
+        // materialising the result; each row goes straight to the writer, so memory does not grow with the catalog
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(CATALOG, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, new RowWriter(writer)::write);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
+    // Emits a quiz or question record only when the joined rows move on to a new one
+    @RequiredArgsConstructor
+    private static final class RowWriter {
+        private final CatalogWriter writer;
+        private long quizId = -1;
+        private long questionId = -1;
+
+        private void write(ResultSet row) throws SQLException {
+            try {
+                long quiz = row.getLong(1);
+                if (quiz != quizId) {
+                    writer.quiz(quiz, row.getString(2), row.getBoolean(3));
+                    quizId = quiz;
+                    questionId = -1;
+                }
+                long question = row.getLong(4);
+                if (row.wasNull())
+                    return;
+                if (question != questionId) {
+                    writer.question(question, row.getString(5), row.getBoolean(6));
+                    questionId = question;
+                }
+                long answer = row.getLong(7);
+                if (!row.wasNull())
+                    writer.answer(answer, row.getString(8), row.getBoolean(9), row.getBoolean(10));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
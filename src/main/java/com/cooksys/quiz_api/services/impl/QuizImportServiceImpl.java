@@ -0,0 +1,162 @@
+package com.cooksys.quiz_api.services.impl;
+
+import com.cooksys.quiz_api.dtos.ChangeKind;
+import com.cooksys.quiz_api.dtos.ImportItemDto;
+import com.cooksys.quiz_api.dtos.ImportResponseDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.events.ChangeLog;
+import com.cooksys.quiz_api.exception.BadRequestException;
+import com.cooksys.quiz_api.mappers.QuizMapper;
+import com.cooksys.quiz_api.outbox.Outbox;
+import com.cooksys.quiz_api.repositories.QuizRepository;
+import com.cooksys.quiz_api.services.QuizImportService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class QuizImportServiceImpl implements QuizImportService {
+
+    private final QuizRepository quizRepository;
+    private final QuizMapper quizMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ChangeLog changeLog;
+    private final Outbox outbox;
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public QuizImportServiceImpl(QuizRepository quizRepository, QuizMapper quizMapper, ObjectMapper objectMapper,
+                                 TransactionTemplate transactionTemplate, ChangeLog changeLog, Outbox outbox,
+                                 EntityManager entityManager, @Value("${quiz.import.batch-size:100}") int batchSize) {
+        this.quizRepository = quizRepository;
+        this.quizMapper = quizMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.changeLog = changeLog;
+        this.outbox = outbox;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Timed("quiz.service")
+    public ImportResponseDto importQuizzes(InputStream body) throws IOException {
+        // Accepts a JSON array of quizzes or newline-delimited quizzes. The body is read one quiz at a time,
+        // so only the current batch is ever held in memory, however large the import is.
+        List<ImportItemDto> items = new ArrayList<>();
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array)
+                token = parser.nextToken();
+            int index = 0;
+            try {
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    JsonNode node = parser.readValueAsTree();
+                    Pending pending = prepare(index++, node);
+                    if (pending.quiz == null)
+                        items.add(pending.result);
+                    else
+                        batch.add(pending);
+                    if (batch.size() == batchSize)
+                        items.addAll(persist(batch));
+                    token = parser.nextToken();
+                }
+                if (array && token == null)
+                    items.add(new ImportItemDto(index, null, "Unterminated JSON Array"));
+            } catch (JsonParseException e) {
+                // Malformed JSON cannot be resynchronised, everything read before it is still imported
+                items.add(new ImportItemDto(index, null, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+        }
+        items.addAll(persist(batch));
+        items.sort(Comparator.comparingInt(ImportItemDto::getIndex));
+        int imported = (int) items.stream().filter(item -> item.getId() != null).count();
+        return new ImportResponseDto(imported, items.size() - imported, items);
+    }
+
+    // Binds and validates one quiz; a rejected quiz carries its result instead of an entity
+    private Pending prepare(int index, JsonNode node) {
+        try {
+            QuizRequestDto quizRequestDto = objectMapper.treeToValue(node, QuizRequestDto.class);
+            QuizRequests.validate(quizRequestDto);
+            return new Pending(index, quizRequestDto, QuizRequests.toEntity(quizMapper, quizRequestDto), null);
+        } catch (JsonProcessingException e) {
+            return new Pending(index, null, null, new ImportItemDto(index, null, "Invalid Quiz: " + e.getOriginalMessage()));
+        } catch (BadRequestException e) {
+            return new Pending(index, null, null, new ImportItemDto(index, null, e.getMessage()));
+        }
+    }
+
+    // One transaction per batch, written with JDBC batching. If the batch fails it is retried one quiz per
+    // transaction, so a single bad row only fails its own item.
+    private List<ImportItemDto> persist(List<Pending> batch) {
+        List<ImportItemDto> results = new ArrayList<>(batch.size());
+        if (batch.isEmpty())
+            return results;
+        try {
+            transactionTemplate.executeWithoutResult(status -> quizRepository.saveAll(quizzes(batch))
+                    .forEach(this::recordCreated));
+            batch.forEach(pending -> results.add(new ImportItemDto(pending.index, pending.quiz.getId(), null)));
+        } catch (RuntimeException e) {
+            for (Pending pending : batch) {
+                try {
+                    // Rebuilt from the request, the failed attempt may have left ids on the first entities
+                    Quiz quiz = QuizRequests.toEntity(quizMapper, pending.request);
+                    transactionTemplate.executeWithoutResult(status -> recordCreated(quizRepository.save(quiz)));
+                    results.add(new ImportItemDto(pending.index, quiz.getId(), null));
+                } catch (RuntimeException single) {
+                    results.add(new ImportItemDto(pending.index, null, "Unable To Save Quiz"));
+                }
+            }
+        }
+        // A caller that keeps one EntityManager across the batches, as open-in-view does, would otherwise keep every
+        // imported entity managed and dirty-check all of them again with each later batch
+        entityManager.clear();
+        batch.clear();
+        return results;
+    }
+
+    // Same as QuizServiceImpl: in the outbox with the batch, to SSE subscribers once it commits
+    private void recordCreated(Quiz quiz) {
+        outbox.record(quiz, ChangeKind.CREATED);
+        changeLog.publish(quiz, ChangeKind.CREATED);
+    }
+
+    private static List<Quiz> quizzes(List<Pending> batch) {
+        List<Quiz> quizzes = new ArrayList<>(batch.size());
+        batch.forEach(pending -> quizzes.add(pending.quiz));
+        return quizzes;
+    }
+
+    private static final class Pending {
+        private final int index;
+        private final QuizRequestDto request;
+        private final Quiz quiz;
+        private final ImportItemDto result;
+
+        private Pending(int index, QuizRequestDto request, Quiz quiz, ImportItemDto result) {
+            this.index = index;
+            this.request = request;
+            this.quiz = quiz;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.cooksys.quiz_api.services.impl;
+
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.exception.BadRequestException;
+import com.cooksys.quiz_api.mappers.QuizMapper;
+
+import java.util.List;
+
+// Validation and entity wiring shared by createQuiz and the bulk import
+final class QuizRequests {
+
+    private QuizRequests() {
+    }
+
+    static void validate(QuizRequestDto quizRequestDto) {
+        // Body MUST include Quiz with name, with questions, with at least one correct answer
+        if (quizRequestDto == null || quizRequestDto.getName() == null || quizRequestDto.getQuestions() == null)
+            throw new BadRequestException("Quiz Must Include \"name\" and \"questions\"");
+        if (quizRequestDto.getName().isBlank() || quizRequestDto.getQuestions().size() == 0)
+            throw new BadRequestException("Quiz Must Include \"name\" and \"questions\"");
+        List<QuestionRequestDto> questions = quizRequestDto.getQuestions();
+        for (var question : questions) {
+            if (question == null || question.getAnswers() == null)
+                throw new BadRequestException("\"questions\" Must Include \"text\" And \"answers\"");
+            if (question.getText() == null || question.getText().isBlank() || question.getAnswers().size() == 0)
+                throw new BadRequestException("\"questions\" Must Have \"text\", and \"answers\"");
+            var answers = question.getAnswers();
+            int i = 0;
+            for (var answer : answers) {
+                if (answer == null || answer.getText() == null)
+                    throw new BadRequestException("\"answers\" Can Not Be Null");
+                if (answer.getText().isBlank())
+                    throw new BadRequestException("\"answers\", \"text\" Can Not Be Blank");
+                if (answer.isCorrect())
+                    i++;
+            }
+            if (i == 0) throw new BadRequestException("\"questions\" Must Include At Least One \"correct\" Answer");
+        }
+    }
+
+    // Wires up the back references so the cascade persists the whole aggregate in one batched flush
+    static Quiz toEntity(QuizMapper quizMapper, QuizRequestDto quizRequestDto) {
+        Quiz quiz = quizMapper.requestDtoToEntity(quizRequestDto);
+        for (var q : quiz.getQuestions()) {
+            q.setQuiz(quiz);
+            q.getAnswers().forEach(a -> a.setQuestion(q));
+        }
+        return quiz;
+    }
+}
@@ -1,136 +1,319 @@
 package com.cooksys.quiz_api.services.impl;
 
+import com.cooksys.quiz_api.cache.QuizCache;
+import com.cooksys.quiz_api.config.RetryOnConflict;
 import com.cooksys.quiz_api.dtos.*;
 import com.cooksys.quiz_api.entities.Answer;
 import com.cooksys.quiz_api.entities.Question;
 import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.events.ChangeLog;
 import com.cooksys.quiz_api.exception.BadRequestException;
+import com.cooksys.quiz_api.exception.ConflictException;
 import com.cooksys.quiz_api.exception.NotFoundException;
+import com.cooksys.quiz_api.exception.PreconditionFailedException;
 import com.cooksys.quiz_api.mappers.AnswerMapper;
 import com.cooksys.quiz_api.mappers.QuestionMapper;
 import com.cooksys.quiz_api.mappers.QuizMapper;
+import com.cooksys.quiz_api.outbox.Outbox;
+import com.cooksys.quiz_api.repositories.AnswerOwner;
 import com.cooksys.quiz_api.repositories.AnswerRepository;
+import com.cooksys.quiz_api.repositories.QuestionOwner;
 import com.cooksys.quiz_api.repositories.QuestionRepository;
 import com.cooksys.quiz_api.repositories.QuizRepository;
+import com.cooksys.quiz_api.repositories.SoftDeleteRepository;
+import com.cooksys.quiz_api.scoring.ScoringIndex;
 import com.cooksys.quiz_api.services.QuizService;
+import com.cooksys.quiz_api.services.StatisticsService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class QuizServiceImpl implements QuizService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_CHUNK_SIZE = 100;
+    private static final int RANDOM_QUESTION_DRAWS = 5;
+
     private final QuizRepository quizRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
+    private final SoftDeleteRepository softDeleteRepository;
     private final QuizMapper quizMapper;
     private final QuestionMapper questionMapper;
     private final AnswerMapper answerMapper;
+    private final EntityManager entityManager;
+    private final QuizCache quizCache;
+    private final ChangeLog changeLog;
+    private final Outbox outbox;
+    private final StatisticsService statisticsService;
 
     @Override
-    public List<QuizResponseDto> getAllQuizzes() {
-        return quizMapper.entitiesToDtos(quizRepository.findAllByDeletedFalse());
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public List<QuizResponseDto> getQuizzes(Long after, int limit) {
+        // Keyset pagination: "after" is the last quiz id the client has seen, page size capped at MAX_PAGE_SIZE
+        long cursor = after == null ? 0L : after;
+        long stamp = quizCache.stamp();
+        List<Long> ids = quizRepository.findIdsAfter(cursor, firstPage(limit));
+        // Only the quizzes missing from the cache are loaded, the page is then reassembled in id order
+        Map<Long, QuizResponseDto> quizzes = new HashMap<>(quizCache.getAll(ids));
+        List<Long> misses = ids.stream().filter(id -> !quizzes.containsKey(id)).collect(Collectors.toList());
+        for (Quiz quiz : fetchGraphs(misses))
+            quizzes.put(quiz.getId(), quizCache.put(stamp, quizMapper.entityToDto(quiz)));
+        return ids.stream().map(quizzes::get).collect(Collectors.toList());
     }
 
     @Override
-    public QuizResponseDto createQuiz(QuizRequestDto quizRequestDto) {
-        // Implemented: Body MUST include Quiz with name, with questions, with at least one correct answer
-        if (quizRequestDto == null || quizRequestDto.getName() == null || quizRequestDto.getQuestions() == null)
-            throw new BadRequestException("Quiz Must Include \"name\" and \"questions\"");
-        if (quizRequestDto.getName().isBlank() || quizRequestDto.getQuestions().size() == 0)
-            throw new BadRequestException("Quiz Must Include \"name\" and \"questions\"");
-        List<QuestionRequestDto> questions = quizRequestDto.getQuestions();
-        for (var question : questions) {
-            if (question.getAnswers() == null)
-                throw new BadRequestException("\"questions\" Must Include \"text\" And \"answers\"");
-            if (question.getText().isBlank() || question.getText() == null || question.getAnswers().size() == 0)
-                throw new BadRequestException("\"questions\" Must Have \"text\", and \"answers\"");
-            var answers = question.getAnswers();
-            int i = 0;
-            for (var answer : answers) {
-                if (answer.getText() == null)
-                    throw new BadRequestException("\"answers\" Can Not Be Null");
-                if (answer.getText().isBlank())
-                    throw new BadRequestException("\"answers\", \"text\" Can Not Be Blank");
-                if (answer.isCorrect())
-                    i++;
-            }
-            if (i == 0) throw new BadRequestException("\"questions\" Must Include At Least One \"correct\" Answer");
-        }
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public List<QuizSummaryDto> getQuizSummaries(Long after, int limit) {
+        // Same keyset paging as getQuizzes, but one query over the quiz table and the question index
+        long cursor = after == null ? 0L : after;
+        return quizRepository.findSummariesAfter(cursor, firstPage(limit));
+    }
+
+    @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public List<QuizVersionDto> getQuizVersions(Long after, int limit) {
+        // The same page as getQuizzes, reduced to ids and versions from the quiz table alone
+        long cursor = after == null ? 0L : after;
+        return quizRepository.findVersionsAfter(cursor, firstPage(limit));
+    }
+
+    private static PageRequest firstPage(int limit) {
+        if (limit < 1)
+            throw new BadRequestException("\"limit\" Must Be At Least 1");
+        return PageRequest.of(0, Math.min(limit, MAX_PAGE_SIZE));
+    }
 
-        Quiz quiz = quizRepository.saveAndFlush(quizMapper.requestDtoToEntity(quizRequestDto));
-        for (var q : quiz.getQuestions()) {
-            q.setQuiz(quiz);
-            questionRepository.saveAndFlush(q);
-            for (var a : q.getAnswers()) {
-                a.setQuestion(q);
-                answerRepository.saveAndFlush(a);
-            }
+    @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public QuizResponseDto getQuiz(Long id) {
+        QuizResponseDto cached = quizCache.get(id);
+        if (cached != null)
+            return cached;
+        long stamp = quizCache.stamp();
+        Optional<Quiz> quiz = findQuizGraph(id);
+        if (quiz.isEmpty())
+            throw new NotFoundException("Unable To Find Quiz With ID " + id);
+        return quizCache.put(stamp, quizMapper.entityToDto(quiz.get()));
+    }
+
+    @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public long getQuizVersion(Long id) {
+        // Only the quiz row is read, usually from the second-level cache; its questions stay unloaded
+        Optional<Quiz> quiz = quizRepository.findByIdAndDeletedFalse(id);
+        if (quiz.isEmpty())
+            throw new NotFoundException("Unable To Find Quiz With ID " + id);
+        return quiz.get().getVersion();
+    }
+
+    // Questions and answers are separate rows, so editing them would leave the quiz row, and its version, untouched.
+    // Forcing the increment makes the quiz version cover the whole graph. It is written straight away, so a quiz
+    // returned by the same call already carries it. The increment is checked against the version this transaction
+    // read, so when a concurrent edit committed first this one fails and @RetryOnConflict runs it again.
+    private void bumpVersion(Quiz quiz) {
+        entityManager.lock(quiz, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    // Durably in the outbox as part of this transaction, and to live SSE subscribers once it commits
+    private void recordChange(Quiz quiz, ChangeKind kind) {
+        outbox.record(quiz, kind);
+        changeLog.publish(quiz, kind);
+    }
+
+    // If-Match: the edit only applies to the version of the quiz the client last saw
+    private static void checkVersion(Quiz quiz, Long expectedVersion) {
+        if (expectedVersion != null && quiz.getVersion() != expectedVersion)
+            throw new PreconditionFailedException("Quiz With ID " + quiz.getId() + " Is No Longer At Version " + expectedVersion);
+    }
+
+    @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public void streamAllQuizzes(Consumer<QuizResponseDto> consumer) {
+        // Walks the id cursor in chunks; each chunk is loaded, handed off, then cleared from the persistence context
+        try (Stream<Long> ids = quizRepository.streamIds()) {
+            List<Long> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            ids.forEach(id -> {
+                chunk.add(id);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    emitChunk(chunk, consumer);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty())
+                emitChunk(chunk, consumer);
         }
+    }
+
+    private void emitChunk(List<Long> ids, Consumer<QuizResponseDto> consumer) {
+        fetchGraphs(ids).forEach(quiz -> consumer.accept(quizMapper.entityToDto(quiz)));
+        entityManager.clear();
+    }
+
+    // Loads quiz -> question -> answer graphs for the given ids in two statements, whatever the number of quizzes.
+    // Must run inside a transaction so the second query fills the answers of the questions loaded by the first.
+    private List<Quiz> fetchGraphs(List<Long> ids) {
+        if (ids.isEmpty())
+            return new ArrayList<>();
+        List<Quiz> quizzes = quizRepository.findWithQuestionsByIdIn(ids);
+        questionRepository.findWithAnswersByQuizIdIn(ids);
+        return quizzes;
+    }
+
+    // Single live quiz with its questions and answers, always three statements however large the quiz is
+    private Optional<Quiz> findQuizGraph(Long id) {
+        Optional<Quiz> quiz = quizRepository.findWithQuestionsByIdAndDeletedFalse(id);
+        if (quiz.isPresent())
+            questionRepository.findWithAnswersByQuizIdIn(List.of(id));
+        return quiz;
+    }
+
+    @Override
+    @Timed("quiz.service")
+    @Transactional
+    public QuizResponseDto createQuiz(QuizRequestDto quizRequestDto) {
+        // Implemented: Body MUST include Quiz with name, with questions, with at least one correct answer
+        QuizRequests.validate(quizRequestDto);
+        Quiz quiz = QuizRequests.toEntity(quizMapper, quizRequestDto);
+        quiz = quizRepository.save(quiz);
+        quizCache.evict(quiz.getId());
+        recordChange(quiz, ChangeKind.CREATED);
         return quizMapper.entityToDto(quiz);
     }
 
     @Override
-    public QuizResponseDto deleteQuizById(Long id) {
+    @Timed("quiz.service")
+    @Transactional
+    @RetryOnConflict
+    public QuizResponseDto deleteQuizById(Long id, Long expectedVersion) {
         // Implemented: Soft deletes quiz and children (Questions and Answers)
-        Optional<Quiz> opQuiz = quizRepository.findByIdAndDeletedFalse(id);
+        Optional<Quiz> opQuiz = findQuizGraph(id);
         if (opQuiz.isEmpty())
             throw new NotFoundException("Unable To Find Quiz With ID " + id);
+        // The response is mapped first, then each level of the subtree is flagged with a single UPDATE
         Quiz quiz = opQuiz.get();
+        checkVersion(quiz, expectedVersion);
+        QuizResponseDto deleted = quizMapper.entityToDto(quiz);
+        softDeleteRepository.deleteQuestionsOf(id, quiz.getQuestions());
         quiz.setDeleted(true);
-        for(var question : quiz.getQuestions()) {
-            question.setDeleted(true);
-            questionRepository.saveAndFlush(question);
-            for(var answer : question.getAnswers()) {
-                answer.setDeleted(true);
-                answerRepository.saveAndFlush(answer);
-            }
-        }
-        return quizMapper.entityToDto(quizRepository.saveAndFlush(quiz));
+        quizRepository.saveAndFlush(quiz);
+        quizCache.evict(id);
+        quizCache.updateScoringIndex(id, index -> null);
+        recordChange(quiz, ChangeKind.DELETED);
+        return deleted;
     }
 
     @Override
-    public QuizResponseDto renameQuiz(Long id, String newName) {
+    @Timed("quiz.service")
+    @Transactional
+    @RetryOnConflict
+    public QuizResponseDto renameQuiz(Long id, String newName, Long expectedVersion) {
         // Implemented: Throws bad request if name passed is null, blank, and throws Not found if id invalid
         if (newName == null)
             throw new BadRequestException("New Name Cannot Be Null");
         if (newName.isBlank())
             throw new BadRequestException("New Name Cannot Be Blank");
-        Optional<Quiz> quiz = quizRepository.findByIdAndDeletedFalse(id);
+        Optional<Quiz> quiz = findQuizGraph(id);
         if (quiz.isEmpty())
             throw new BadRequestException("Unable To Find Quiz With ID " + id);
+        checkVersion(quiz.get(), expectedVersion);
         quiz.map(q -> {
             q.setName(newName);
             return quizRepository.saveAndFlush(q);
         });
+        quizCache.evict(id);
+        recordChange(quiz.get(), ChangeKind.RENAMED);
         return quizMapper.entityToDto(quiz.get());
     }
 
     @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
     public QuestionResponseDto getRandomQuestion(Long id) {
-        Optional<Quiz> opQuiz = quizRepository.findByIdAndDeletedFalse(id);
-        if (opQuiz.isEmpty())
+        // Draws from the cached array of live question ids, then loads just that question and its live answers.
+        // A question deleted after the array was loaded evicts it, and the draw is retried on ids reloaded from
+        // the database, which also finds out whether the quiz itself is gone. Deletes can keep winning the race,
+        // so after a few draws the caller is told to try again instead.
+        for (int attempt = 0; attempt < RANDOM_QUESTION_DRAWS; attempt++) {
+            long[] questionIds = getLiveQuestionIds(id);
+            if (questionIds.length == 0)
+                throw new NotFoundException("Quiz With ID " + id + " Has No Questions");
+            long questionId = questionIds[ThreadLocalRandom.current().nextInt(questionIds.length)];
+            Optional<Question> opQuestion = questionRepository.findByIdAndDeletedFalse(questionId);
+            if (opQuestion.isPresent())
+                return questionMapper.entityToDto(opQuestion.get(),
+                        answerRepository.findByQuestionIdAndDeletedFalseOrderByIdAsc(questionId));
+            quizCache.evict(id);
+        }
+        throw new ConflictException("Questions Of Quiz With ID " + id + " Were Deleted While Drawing, Try Again");
+    }
+
+    @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public List<QuestionResponseDto> getLiveQuestions(Long id) {
+        // Immutable list of the quiz's live questions with their live answers, shared by every caller until evicted
+        List<QuestionResponseDto> cached = quizCache.getLiveQuestions(id);
+        if (cached != null)
+            return cached;
+        long stamp = quizCache.stamp();
+        if (!quizRepository.existsByIdAndDeletedFalse(id))
             throw new NotFoundException("Unable To Find Quiz With ID " + id);
-        Quiz quiz = opQuiz.get();
-        return questionMapper.entityToDto(
-                quiz.getQuestions().get(
-                        new Random().nextInt(
-                                quiz.getQuestions().size()
-                        )
-                )
-        );
+        List<QuestionResponseDto> questions = new ArrayList<>();
+        for (var question : questionRepository.findLiveWithAnswersByQuizId(id)) {
+            List<Answer> liveAnswers = question.getAnswers().stream().filter(a -> !a.isDeleted())
+                    .collect(Collectors.toList());
+            questions.add(questionMapper.entityToDto(question, liveAnswers));
+        }
+        return quizCache.putLiveQuestions(stamp, id, questions);
+    }
+
+    private long[] getLiveQuestionIds(Long id) {
+        long[] cached = quizCache.getQuestionIds(id);
+        if (cached != null)
+            return cached;
+        long stamp = quizCache.stamp();
+        if (!quizRepository.existsByIdAndDeletedFalse(id))
+            throw new NotFoundException("Unable To Find Quiz With ID " + id);
+        long[] questionIds = questionRepository.findLiveIdsByQuizId(id).stream().mapToLong(Long::longValue).toArray();
+        return quizCache.putQuestionIds(stamp, id, questionIds);
     }
 
     @Override
-    public QuizResponseDto addQuestion(Long id, QuestionRequestDto questionRequestDto) {
+    @Timed("quiz.service")
+    @Transactional
+    @RetryOnConflict
+    public QuizResponseDto addQuestion(Long id, QuestionRequestDto questionRequestDto, Long expectedVersion) {
         // Implemented: If quiz ID does not exist, throws Not Found. If question coming in
         // is null OR text is null OR blank Bad Request. If ANY answer is null or blank, bad request.
         // If there is no correct answer, bad request.
-        Optional<Quiz> opQuiz = quizRepository.findByIdAndDeletedFalse(id);
+        Optional<Quiz> opQuiz = findQuizGraph(id);
         if (opQuiz.isEmpty())
             throw new NotFoundException("Unable To Find Quiz With ID " + id);
         if (questionRequestDto == null || questionRequestDto.getText() == null)
@@ -153,66 +336,128 @@ public class QuizServiceImpl implements QuizService {
         if (i == 0) throw new BadRequestException("Question Must Include At Least One Correct Answer");
 
         Quiz quiz = opQuiz.get();
+        checkVersion(quiz, expectedVersion);
         Question question = questionMapper.requestDtoToEntity(questionRequestDto);
         List<Answer> answers = question.getAnswers();
 
         answers.forEach(a -> a.setQuestion(question));
         question.setQuiz(quiz);
+        quiz.getQuestions().add(question);
         questionRepository.saveAndFlush(question);
+        bumpVersion(quiz);
+        quizCache.evict(id);
+        quizCache.updateScoringIndex(id, index -> index.withQuestion(question));
+        recordChange(quiz, ChangeKind.QUESTION_ADDED);
         return quizMapper.entityToDto(quizRepository.saveAndFlush(quiz));
     }
 
     @Override
-    public QuestionResponseDto deleteQuestion(Long id, Long questionId) {
+    @Timed("quiz.service")
+    @Transactional
+    @RetryOnConflict
+    public QuestionResponseDto deleteQuestion(Long id, Long questionId, Long expectedVersion) {
         // Implemented: If invalid ID passed for quiz OR question, not found.
         // If question does not belong to the quiz (with the quiz ID passed) return not found
         // Sets question deleted flag to true and all children/answers
-        Optional<Quiz> opQuiz = quizRepository.findByIdAndDeletedFalse(id);
-        Optional<Question> opQuestion = questionRepository.findByIdAndDeletedFalse(questionId);
-        if (opQuiz.isEmpty())
-            throw new NotFoundException("Unable To Find Quiz With ID " + id);
-        if (opQuestion.isEmpty())
+        // Ownership comes from one projection over primary keys; only the question being deleted is loaded
+        Optional<QuestionOwner> owner = questionRepository.findOwnerById(questionId);
+        if (owner.isEmpty() || owner.get().isDeleted() || owner.get().isQuizDeleted() || !id.equals(owner.get().getQuizId())) {
+            if (!quizRepository.existsByIdAndDeletedFalse(id))
+                throw new NotFoundException("Unable To Find Quiz With ID " + id);
             throw new NotFoundException("Unable To Find Question With ID " + questionId);
-        Quiz quiz = opQuiz.get();
-        Question question = opQuestion.get();
-        if (quiz.getQuestions().contains(question)) {
-            question.setDeleted(true);
-            for(var answer : question.getAnswers()) {
-                answer.setDeleted(true);
-                answerRepository.saveAndFlush(answer);
-            }
-            return questionMapper.entityToDto(questionRepository.saveAndFlush(question));
         }
-        throw new NotFoundException("Unable To Find Question With ID " + questionId);
+        Quiz quiz = quizRepository.getById(id);
+        checkVersion(quiz, expectedVersion);
+        Question question = questionRepository.getById(questionId);
+        QuestionResponseDto deleted = questionMapper.entityToDto(question);
+        softDeleteRepository.deleteAnswersOf(question);
+        question.setDeleted(true);
+        questionRepository.save(question);
+        bumpVersion(quiz);
+        quizCache.evict(id);
+        quizCache.updateScoringIndex(id, index -> index.withoutQuestion(questionId));
+        recordChange(quiz, ChangeKind.QUESTION_DELETED);
+        return deleted;
     }
 
     @Override
-    public AnswerResponseDto deleteAnswer(Long id, Long qId, Long aId) {
-        // Problem, deleted answer still showing up when getting all quizzes
-        Optional<Quiz> opQuiz = quizRepository.findByIdAndDeletedFalse(id);
-        Optional<Question> opQuestion = questionRepository.findByIdAndDeletedFalse(qId);
-        Optional<Answer> opAnswer = answerRepository.findByIdAndDeletedFalse(aId);
-        if(opQuiz.isEmpty())
-            throw new NotFoundException("Unable To Find Quiz With ID " + id);
-        if(opQuestion.isEmpty())
-            throw new NotFoundException("Unable To Find Question With ID " + qId);
-        if(opAnswer.isEmpty())
-            throw new NotFoundException("Unable To Find Answer With ID " + aId);
+    @Timed("quiz.service")
+    @Transactional
+    @RetryOnConflict
+    public AnswerResponseDto deleteAnswer(Long id, Long qId, Long aId, Long expectedVersion) {
+        // Ownership comes from one projection over primary keys; only the answer being deleted is loaded.
+        // The cheaper checks for which id is wrong only run once the delete has already failed.
+        Optional<AnswerOwner> owner = answerRepository.findOwnerById(aId);
+        if (owner.isEmpty() || owner.get().isDeleted() || owner.get().isQuestionDeleted() || owner.get().isQuizDeleted()
+                || !qId.equals(owner.get().getQuestionId()) || !id.equals(owner.get().getQuizId())) {
+            if (!quizRepository.existsByIdAndDeletedFalse(id))
+                throw new NotFoundException("Unable To Find Quiz With ID " + id);
+            if (questionRepository.findByIdAndDeletedFalse(qId).isEmpty())
+                throw new NotFoundException("Unable To Find Question With ID " + qId);
+            if (owner.isEmpty() || owner.get().isDeleted())
+                throw new NotFoundException("Unable To Find Answer With ID " + aId);
+            throw new NotFoundException("Could Not Find Answer With ID " + aId + " Within Question With ID " + qId + " Within Quiz With ID " + id);
+        }
+        Quiz quiz = quizRepository.getById(id);
+        checkVersion(quiz, expectedVersion);
+        Answer answer = answerRepository.getById(aId);
+        answer.setDeleted(true);
+        answerRepository.save(answer);
+        bumpVersion(quiz);
+        quizCache.evict(id);
+        quizCache.updateScoringIndex(id, index -> index.withoutAnswer(aId));
+        recordChange(quiz, ChangeKind.ANSWER_DELETED);
+        return answerMapper.entityToDto(answer);
+    }
 
-        Quiz quiz = opQuiz.get();
-        Question question = opQuestion.get();
-        Answer answer = opAnswer.get();
-
-        if(quiz.getQuestions().contains(question)) {
-            if(question.getAnswers().contains(answer)) {
-                answer.setDeleted(true);
-                answerRepository.saveAndFlush(answer);
-                return answerMapper.entityToDto(answer);
-            }
-            questionRepository.saveAndFlush(question);
-            quizRepository.saveAndFlush(quiz);
+    @Override
+    @Timed("quiz.service")
+    @Transactional(readOnly = true)
+    public SubmissionResponseDto submitAnswers(Long id, SubmissionRequestDto submissionRequestDto) {
+        // Implemented: Grades one selected answer per question against the quiz's cached answer key
+        if (submissionRequestDto == null || submissionRequestDto.getSelections() == null)
+            throw new BadRequestException("Submission Must Include \"selections\"");
+        for (var selection : submissionRequestDto.getSelections()) {
+            if (selection == null || selection.getQuestionId() == null || selection.getAnswerId() == null)
+                throw new BadRequestException("\"selections\" Must Include \"questionId\" And \"answerId\"");
         }
+        ScoringIndex index = getScoringIndex(id);
+        ScoringIndex.Score score = index.score(submissionRequestDto.getSelections(),
+                (questionId, answerId, validAnswer, correct) -> statisticsService.record(id, questionId, answerId, validAnswer, correct));
+        return new SubmissionResponseDto(id, score.getAnswered(), score.getCorrect(), index.questionCount());
+    }
 
-        throw new NotFoundException("Could Not Find Answer With ID " + aId + " Within Question With ID " + qId + " Within Quiz With ID " + id);
+    private ScoringIndex getScoringIndex(Long id) {
+        ScoringIndex cached = quizCache.getScoringIndex(id);
+        if (cached != null)
+            return cached;
+        long stamp = quizCache.stamp();
+        if (!quizRepository.existsByIdAndDeletedFalse(id))
+            throw new NotFoundException("Unable To Find Quiz With ID " + id);
+        ScoringIndex index = ScoringIndex.of(questionRepository.findLiveWithAnswersByQuizId(id));
+        return quizCache.putScoringIndex(stamp, id, index);
+    }
+
+    @Override
+    @Timed("quiz.service")
+    public CacheStatsDto getCacheStats() {
+        var stats = quizCache.stats();
+        return new CacheStatsDto(quizCache.size(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    @Override
+    public List<RegionStatsDto> getEntityCacheStats() {
+        // Hibernate second-level cache regions: entities, their collections and the query cache
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        List<RegionStatsDto> regions = new ArrayList<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null)
+                regions.add(new RegionStatsDto(name, region.getElementCountInMemory(), region.getHitCount(),
+                        region.getMissCount(), region.getPutCount()));
+        }
+        regions.sort(Comparator.comparing(RegionStatsDto::getRegion));
+        return regions;
     }
 }
@@ -0,0 +1,47 @@
+package com.cooksys.quiz_api.services.impl;
+
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.services.QuizService;
+import com.cooksys.quiz_api.services.ReactiveQuizService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Reactive facade over {@link QuizService}. JPA is blocking, so every call runs on the bounded elastic
+ * scheduler and never on the caller's thread; most reads are answered from the quiz cache anyway.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveQuizServiceImpl implements ReactiveQuizService {
+
+    public static final int PAGE_SIZE = 100;
+
+    private final QuizService quizService;
+
+    @Override
+    public Flux<QuizResponseDto> getQuizzes(Long after) {
+        // Walks the keyset pages on demand: the next page is only read once the subscriber has requested
+        // past the current one, so a slow consumer holds at most two pages and no thread while it waits
+        return page(after)
+                .expand(quizzes -> quizzes.size() < PAGE_SIZE ? Mono.empty()
+                        : page(quizzes.get(quizzes.size() - 1).getId()))
+                .flatMapIterable(quizzes -> quizzes, 1);
+    }
+
+    private Mono<List<QuizResponseDto>> page(Long after) {
+        return Mono.fromCallable(() -> quizService.getQuizzes(after, PAGE_SIZE))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<QuestionResponseDto> getRandomQuestion(Long id) {
+        return Mono.fromCallable(() -> quizService.getRandomQuestion(id))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
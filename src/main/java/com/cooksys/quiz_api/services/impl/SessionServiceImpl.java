@@ -0,0 +1,93 @@
+package com.cooksys.quiz_api.services.impl;
+
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.SessionResponseDto;
+import com.cooksys.quiz_api.exception.NotFoundException;
+import com.cooksys.quiz_api.services.QuizService;
+import com.cooksys.quiz_api.services.SessionService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+public class SessionServiceImpl implements SessionService {
+
+    private final QuizService quizService;
+    private final Cache<String, QuizSession> sessions;
+
+    public SessionServiceImpl(QuizService quizService,
+                              @Value("${quiz.session.ttl-minutes:30}") long ttlMinutes,
+                              @Value("${quiz.session.maximum-size:500000}") long maximumSize,
+                              MeterRegistry registry) {
+        this.quizService = quizService;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maximumSize)
+                .build();
+        registry.gauge("quiz.sessions.active", sessions, Cache::estimatedSize);
+    }
+
+    @Override
+    public SessionResponseDto startSession(Long quizId) {
+        // The live questions are loaded (or taken from the cache) once, every draw after that stays in memory
+        List<QuestionResponseDto> questions = quizService.getLiveQuestions(quizId);
+        QuizSession session = new QuizSession(quizId, questions);
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, session);
+        return toDto(id, session);
+    }
+
+    @Override
+    public QuestionResponseDto drawQuestion(String sessionId) {
+        QuizSession session = sessions.getIfPresent(sessionId);
+        if (session == null)
+            throw new NotFoundException("Unable To Find Session With ID " + sessionId);
+        QuestionResponseDto question = session.draw();
+        if (question == null)
+            throw new NotFoundException("Session With ID " + sessionId + " Has No Questions Left");
+        return question;
+    }
+
+    private SessionResponseDto toDto(String id, QuizSession session) {
+        return new SessionResponseDto(id, session.quizId, session.order.length, session.remaining());
+    }
+
+    // A point-in-time view of the quiz: the shared immutable question list plus this session's own permutation.
+    // The permutation is shuffled lazily (one Fisher-Yates step per draw), so starting a session costs no shuffle.
+    private static final class QuizSession {
+
+        private final Long quizId;
+        private final List<QuestionResponseDto> questions;
+        private final int[] order;
+        private int position;
+
+        private QuizSession(Long quizId, List<QuestionResponseDto> questions) {
+            this.quizId = quizId;
+            this.questions = questions;
+            this.order = new int[questions.size()];
+            for (int i = 0; i < order.length; i++)
+                order[i] = i;
+        }
+
+        private synchronized QuestionResponseDto draw() {
+            if (position == order.length)
+                return null;
+            int swap = position + ThreadLocalRandom.current().nextInt(order.length - position);
+            int picked = order[swap];
+            order[swap] = order[position];
+            order[position++] = picked;
+            return questions.get(picked);
+        }
+
+        private synchronized int remaining() {
+            return order.length - position;
+        }
+    }
+}
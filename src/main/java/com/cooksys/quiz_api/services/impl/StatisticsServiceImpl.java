@@ -0,0 +1,281 @@
+package com.cooksys.quiz_api.services.impl;
+
+import com.cooksys.quiz_api.dtos.AnswerStatsDto;
+import com.cooksys.quiz_api.dtos.QuestionStatsDto;
+import com.cooksys.quiz_api.dtos.QuizStatsDto;
+import com.cooksys.quiz_api.entities.AnswerStatistic;
+import com.cooksys.quiz_api.entities.QuestionStatistic;
+import com.cooksys.quiz_api.exception.NotFoundException;
+import com.cooksys.quiz_api.repositories.AnswerStatisticRepository;
+import com.cooksys.quiz_api.repositories.QuestionStatisticRepository;
+import com.cooksys.quiz_api.repositories.QuizRepository;
+import com.cooksys.quiz_api.services.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private static final String INSERT_MISSING_QUESTION = "insert into question_statistic (question_id, quiz_id, answered, correct) "
+            + "select ?, ?, 0, 0 where not exists (select 1 from question_statistic where question_id = ?)";
+    private static final String ADD_TO_QUESTION = "update question_statistic set answered = answered + ?, correct = correct + ? "
+            + "where question_id = ?";
+    private static final String INSERT_MISSING_ANSWER = "insert into answer_statistic (answer_id, question_id, quiz_id, chosen) "
+            + "select ?, ?, ?, 0 where not exists (select 1 from answer_statistic where answer_id = ?)";
+    private static final String ADD_TO_ANSWER = "update answer_statistic set chosen = chosen + ? where answer_id = ?";
+
+    // quiz id -> counters not yet written to the statistics tables
+    private final Map<Long, QuizCounters> counters = new ConcurrentHashMap<>();
+    // Read by getStats, written by a flush from the commit of its batch until its deltas are out of the counters,
+    // so a delta is always counted once, in the tables or in memory
+    private final ReentrantReadWriteLock committing = new ReentrantReadWriteLock();
+
+    private final QuizRepository quizRepository;
+    private final QuestionStatisticRepository questionStatisticRepository;
+    private final AnswerStatisticRepository answerStatisticRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void record(Long quizId, long questionId, long answerId, boolean validAnswer, boolean correct) {
+        // Hot path: no locks and no database, only striped LongAdder increments
+        while (true) {
+            QuizCounters quiz = counters.get(quizId);
+            if (quiz == null)
+                quiz = counters.computeIfAbsent(quizId, id -> new QuizCounters());
+            quiz.inFlight.increment();
+            try {
+                // Dropped by a flush since we looked it up, start over on the one that replaces it
+                if (quiz.removed())
+                    continue;
+                QuestionCounters question;
+                while ((question = quiz.questions.computeIfAbsent(questionId, id -> new QuestionCounters())).removed())
+                    ;
+                question.answered.increment();
+                if (correct)
+                    question.correct.increment();
+                if (!validAnswer)
+                    return;
+                AnswerCounter answer;
+                while ((answer = quiz.answers.computeIfAbsent(answerId, id -> new AnswerCounter(questionId))).removed())
+                    ;
+                answer.chosen.increment();
+                return;
+            } finally {
+                quiz.inFlight.decrement();
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuizStatsDto getStats(Long quizId) {
+        // Implemented: Flushed totals from the statistics tables plus whatever is still waiting in memory
+        committing.readLock().lock();
+        try {
+            if (!quizRepository.existsByIdAndDeletedFalse(quizId))
+                throw new NotFoundException("Unable To Find Quiz With ID " + quizId);
+            Map<Long, QuestionStatsDto> questions = new TreeMap<>();
+            Map<Long, Map<Long, AnswerStatsDto>> answers = new TreeMap<>();
+            for (QuestionStatistic statistic : questionStatisticRepository.findByQuizId(quizId))
+                questionStats(questions, statistic.getQuestionId(), statistic.getAnswered(), statistic.getCorrect());
+            for (AnswerStatistic statistic : answerStatisticRepository.findByQuizId(quizId))
+                answerStats(answers, statistic.getQuestionId(), statistic.getAnswerId(), statistic.getChosen());
+
+            QuizCounters pending = counters.get(quizId);
+            if (pending != null) {
+                pending.questions.forEach((id, counter) ->
+                        questionStats(questions, id, counter.answered.sum(), counter.correct.sum()));
+                pending.answers.forEach((id, counter) ->
+                        answerStats(answers, counter.questionId, id, counter.chosen.sum()));
+            }
+
+            answers.forEach((questionId, byAnswer) -> questionStats(questions, questionId, 0, 0)
+                    .setAnswers(new ArrayList<>(byAnswer.values())));
+            return new QuizStatsDto(quizId, new ArrayList<>(questions.values()));
+        } finally {
+            committing.readLock().unlock();
+        }
+    }
+
+    private QuestionStatsDto questionStats(Map<Long, QuestionStatsDto> questions, Long questionId, long answered, long correct) {
+        QuestionStatsDto stats = questions.computeIfAbsent(questionId,
+                id -> new QuestionStatsDto(id, 0, 0, new ArrayList<>()));
+        stats.setAnswered(stats.getAnswered() + answered);
+        stats.setCorrect(stats.getCorrect() + correct);
+        return stats;
+    }
+
+    private void answerStats(Map<Long, Map<Long, AnswerStatsDto>> answers, Long questionId, Long answerId, long chosen) {
+        AnswerStatsDto stats = answers.computeIfAbsent(questionId, id -> new TreeMap<>())
+                .computeIfAbsent(answerId, id -> new AnswerStatsDto(id, 0));
+        stats.setChosen(stats.getChosen() + chosen);
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${quiz.stats.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        // Deltas are only taken out of the counters with add(-delta) once their batch has committed, so getStats
+        // keeps counting them while they are written and increments racing with the flush stay for the next one.
+        // If the batch fails the deltas are simply left in the counters, nothing recorded is lost.
+        List<QuestionDelta> questionDeltas = new ArrayList<>();
+        List<AnswerDelta> answerDeltas = new ArrayList<>();
+        counters.forEach((quizId, quiz) -> {
+            quiz.questions.forEach((questionId, counter) -> {
+                long answered = counter.answered.sum();
+                long correct = counter.correct.sum();
+                if (answered != 0 || correct != 0)
+                    questionDeltas.add(new QuestionDelta(quizId, questionId, counter, answered, correct));
+            });
+            quiz.answers.forEach((answerId, counter) -> {
+                long chosen = counter.chosen.sum();
+                if (chosen != 0)
+                    answerDeltas.add(new AnswerDelta(quizId, answerId, counter, chosen));
+            });
+        });
+        if (questionDeltas.isEmpty() && answerDeltas.isEmpty())
+            return;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                write(questionDeltas, answerDeltas);
+                committing.writeLock().lock();
+            });
+            questionDeltas.forEach(delta -> {
+                delta.counter.answered.add(-delta.answered);
+                delta.counter.correct.add(-delta.correct);
+            });
+            answerDeltas.forEach(delta -> delta.counter.chosen.add(-delta.chosen));
+        } finally {
+            if (committing.isWriteLockedByCurrentThread())
+                committing.writeLock().unlock();
+        }
+        removeIdle();
+    }
+
+    // Drops the counters left at zero by a successful flush, so quizzes, questions and answers that are no longer
+    // answered, deleted ones included, do not stay in memory for good
+    private void removeIdle() {
+        counters.forEach((quizId, quiz) -> {
+            quiz.questions.forEach((questionId, counter) -> quiz.questions.computeIfPresent(questionId,
+                    (id, current) -> current.removeIfIdle(quiz.inFlight) ? null : current));
+            quiz.answers.forEach((answerId, counter) -> quiz.answers.computeIfPresent(answerId,
+                    (id, current) -> current.removeIfIdle(quiz.inFlight) ? null : current));
+            counters.computeIfPresent(quizId, (id, current) -> current.removeIfIdle(current.inFlight) ? null : current);
+        });
+    }
+
+    // Batched upsert: create the missing rows with zero counts, then add every delta in a single batched UPDATE
+    private void write(List<QuestionDelta> questionDeltas, List<AnswerDelta> answerDeltas) {
+        jdbcTemplate.batchUpdate(INSERT_MISSING_QUESTION, questionDeltas.stream()
+                .map(d -> new Object[] { d.questionId, d.quizId, d.questionId }).collect(Collectors.toList()));
+        jdbcTemplate.batchUpdate(ADD_TO_QUESTION, questionDeltas.stream()
+                .map(d -> new Object[] { d.answered, d.correct, d.questionId }).collect(Collectors.toList()));
+        jdbcTemplate.batchUpdate(INSERT_MISSING_ANSWER, answerDeltas.stream()
+                .map(d -> new Object[] { d.answerId, d.counter.questionId, d.quizId, d.answerId })
+                .collect(Collectors.toList()));
+        jdbcTemplate.batchUpdate(ADD_TO_ANSWER, answerDeltas.stream()
+                .map(d -> new Object[] { d.chosen, d.answerId }).collect(Collectors.toList()));
+    }
+
+    /**
+     * A counter that a flush can remove once it is idle. Recorders count themselves in flight on the quiz before
+     * they look anything up and check removed() on what they find, while a flush marks a counter as being removed
+     * before it checks that nothing is in flight and nothing is left to write. So a recorder either finds the
+     * counter live and keeps it from being removed until it is done, or finds it removed and never touches it.
+     */
+    private abstract static class Removable {
+        private static final int LIVE = 0;
+        private static final int REMOVING = 1;
+        private static final int REMOVED = 2;
+
+        private volatile int state = LIVE;
+
+        abstract boolean idle();
+
+        // Only called from the map's computeIfPresent, so never twice at once for the same counter
+        boolean removeIfIdle(LongAdder inFlight) {
+            state = REMOVING;
+            if (inFlight.sum() == 0 && idle()) {
+                state = REMOVED;
+                return true;
+            }
+            state = LIVE;
+            return false;
+        }
+
+        boolean removed() {
+            int current;
+            while ((current = state) == REMOVING)
+                Thread.onSpinWait();
+            return current == REMOVED;
+        }
+    }
+
+    private static final class QuizCounters extends Removable {
+        private final LongAdder inFlight = new LongAdder();
+        private final Map<Long, QuestionCounters> questions = new ConcurrentHashMap<>();
+        private final Map<Long, AnswerCounter> answers = new ConcurrentHashMap<>();
+
+        @Override
+        boolean idle() {
+            return questions.isEmpty() && answers.isEmpty();
+        }
+    }
+
+    private static final class QuestionCounters extends Removable {
+        private final LongAdder answered = new LongAdder();
+        private final LongAdder correct = new LongAdder();
+
+        @Override
+        boolean idle() {
+            return answered.sum() == 0 && correct.sum() == 0;
+        }
+    }
+
+    private static final class AnswerCounter extends Removable {
+        private final long questionId;
+        private final LongAdder chosen = new LongAdder();
+
+        private AnswerCounter(long questionId) {
+            this.questionId = questionId;
+        }
+
+        @Override
+        boolean idle() {
+            return chosen.sum() == 0;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class QuestionDelta {
+        private final Long quizId;
+        private final Long questionId;
+        private final QuestionCounters counter;
+        private final long answered;
+        private final long correct;
+    }
+
+    @RequiredArgsConstructor
+    private static final class AnswerDelta {
+        private final Long quizId;
+        private final Long answerId;
+        private final AnswerCounter counter;
+        private final long chosen;
+    }
+}
@@ -0,0 +1,51 @@
+-- Schema previously generated by ddl-auto=create-drop, kept portable across Postgres and H2
+
+create sequence quiz_seq start with 1 increment by 50;
+create sequence question_seq start with 1 increment by 50;
+create sequence answer_seq start with 1 increment by 50;
+
+create table quiz (
+    id bigint not null,
+    name varchar(255),
+    deleted boolean not null,
+    primary key (id)
+);
+
+create table question (
+    id bigint not null,
+    text varchar(255),
+    quiz_id bigint,
+    deleted boolean not null,
+    primary key (id),
+    constraint question_quiz_id_fk foreign key (quiz_id) references quiz (id)
+);
+
+create table answer (
+    id bigint not null,
+    text varchar(255),
+    correct boolean not null,
+    question_id bigint,
+    deleted boolean not null,
+    primary key (id),
+    constraint answer_question_id_fk foreign key (question_id) references question (id)
+);
+
+create table question_statistic (
+    question_id bigint not null,
+    quiz_id bigint,
+    answered bigint not null,
+    correct bigint not null,
+    primary key (question_id)
+);
+
+create index question_statistic_quiz_id_idx on question_statistic (quiz_id);
+
+create table answer_statistic (
+    answer_id bigint not null,
+    question_id bigint,
+    quiz_id bigint,
+    chosen bigint not null,
+    primary key (answer_id)
+);
+
+create index answer_statistic_quiz_id_idx on answer_statistic (quiz_id);
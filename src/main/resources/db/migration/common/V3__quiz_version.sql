@@ -0,0 +1,3 @@
+-- Revision of each quiz, moved on by every edit to the quiz or to any of its questions and answers.
+-- It versions the quiz row for Hibernate and is the validator behind the quiz ETags.
+alter table quiz add column version bigint default 0 not null;
@@ -0,0 +1,12 @@
+-- Transactional outbox: one row per quiz change, inserted by the transaction that makes the change and
+-- deleted by OutboxRelay once the consumer has taken it, so the table only holds what is still undelivered
+create sequence outbox_event_seq start with 1 increment by 50;
+
+create table outbox_event (
+    id bigint not null,
+    quiz_id bigint not null,
+    kind varchar(32) not null,
+    version bigint not null,
+    created_at timestamp not null,
+    primary key (id)
+);
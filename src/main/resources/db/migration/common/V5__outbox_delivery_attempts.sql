@@ -0,0 +1,9 @@
+-- Delivery bookkeeping for OutboxRelay. A relay claims events by moving available_at past the delivery timeout
+-- instead of keeping them locked while the consumer runs. A failed delivery counts an attempt and makes the
+-- event available again after a backoff; after quiz.outbox.relay.max-attempts it is set aside as a dead letter
+-- and left in the table for an operator
+alter table outbox_event add column attempts int default 0 not null;
+alter table outbox_event add column available_at timestamp;
+update outbox_event set available_at = created_at;
+alter table outbox_event alter column available_at set not null;
+alter table outbox_event add column dead_letter boolean default false not null;
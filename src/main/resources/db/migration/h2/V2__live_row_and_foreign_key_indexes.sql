@@ -0,0 +1,3 @@
+-- H2 has no partial indexes; the foreign key indexes are the ones that matter for the tests
+create index question_quiz_id_idx on question (quiz_id);
+create index answer_question_id_idx on answer (question_id);
@@ -0,0 +1,13 @@
+-- Postgres does not index foreign keys on its own. These serve the joins that load whole graphs
+-- (deleted rows included) and the export.
+create index question_quiz_id_idx on question (quiz_id);
+create index answer_question_id_idx on answer (question_id);
+
+-- Nearly every read and every soft delete filters on deleted = false. Partial indexes hold only the live
+-- rows, so they stay small however many rows have been deleted, and each serves its ordered scan directly:
+-- quiz listing and streaming (id > ? order by id)
+create index quiz_live_id_idx on quiz (id) where deleted = false;
+-- live question ids and live questions of a quiz, soft delete of a quiz's questions
+create index question_live_quiz_id_idx on question (quiz_id, id) where deleted = false;
+-- live answers of a question in id order, soft delete of a question's answers
+create index answer_live_question_id_idx on answer (question_id, id) where deleted = false;
@@ -0,0 +1,84 @@
+package com.cooksys.quiz_api.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cooksys.quiz_api.QuizApiApplication;
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.entities.Answer;
+import com.cooksys.quiz_api.entities.Question;
+import com.cooksys.quiz_api.entities.Quiz;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Shared fixtures for the benchmarks. Contexts are started without a web server and pick up
+ * the in-memory H2 datasource from the test application.properties.
+ */
+final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	// Statistics are only on for the query count tests; their per-session logging would dominate the numbers
+	static ConfigurableApplicationContext startContext() {
+		return new SpringApplicationBuilder(QuizApiApplication.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run("--spring.jpa.properties.hibernate.generate_statistics=false");
+	}
+
+	// Detached entity graphs with ids assigned, as the mappers would see them after a load
+	static List<Quiz> quizzes(int quizzes, int questions, int answers) {
+		List<Quiz> result = new ArrayList<>();
+		long nextId = 1;
+		for (int i = 0; i < quizzes; i++) {
+			Quiz quiz = new Quiz();
+			quiz.setId(nextId++);
+			quiz.setName("Quiz " + i);
+			quiz.setQuestions(new ArrayList<>());
+			for (int j = 0; j < questions; j++) {
+				Question question = new Question();
+				question.setId(nextId++);
+				question.setText("Question " + j + " of quiz " + i + "?");
+				question.setQuiz(quiz);
+				question.setAnswers(new ArrayList<>());
+				for (int k = 0; k < answers; k++) {
+					Answer answer = new Answer();
+					answer.setId(nextId++);
+					answer.setText("Answer " + k);
+					answer.setCorrect(k == 0);
+					answer.setQuestion(question);
+					question.getAnswers().add(answer);
+				}
+				quiz.getQuestions().add(question);
+			}
+			result.add(quiz);
+		}
+		return result;
+	}
+
+	static QuizRequestDto quizRequest(int questions, int answers) {
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Benchmark quiz");
+		quiz.setQuestions(new ArrayList<>());
+		for (int j = 0; j < questions; j++) {
+			QuestionRequestDto question = new QuestionRequestDto();
+			question.setText("Question " + j + "?");
+			question.setAnswers(new ArrayList<>());
+			for (int k = 0; k < answers; k++) {
+				AnswerRequestDto answer = new AnswerRequestDto();
+				answer.setText("Answer " + k);
+				answer.setCorrect(k == 0);
+				question.getAnswers().add(answer);
+			}
+			quiz.getQuestions().add(question);
+		}
+		return quiz;
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.cooksys.quiz_api.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.mappers.QuizMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entity to DTO mapping and JSON serialization of a page of quizzes (20 questions, 4 answers each),
+ * using the mapper and ObjectMapper beans the application itself runs with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+	@Param({ "50", "500" })
+	private int quizzes;
+
+	private ConfigurableApplicationContext context;
+
+	private QuizMapper quizMapper;
+
+	private ObjectMapper objectMapper;
+
+	private List<Quiz> entities;
+
+	private List<QuizResponseDto> dtos;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkData.startContext();
+		quizMapper = context.getBean(QuizMapper.class);
+		objectMapper = context.getBean(ObjectMapper.class);
+		entities = BenchmarkData.quizzes(quizzes, 20, 4);
+		dtos = quizMapper.entitiesToDtos(entities);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<QuizResponseDto> entitiesToDtos() {
+		return quizMapper.entitiesToDtos(entities);
+	}
+
+	@Benchmark
+	public byte[] serializeDtos() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(dtos);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MapperBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.cooksys.quiz_api.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.exception.BadRequestException;
+import com.cooksys.quiz_api.services.QuizService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * QuizService hot paths against the embedded H2 database: validating a 50 question quiz
+ * (rejected on its last answer, so nothing is written), creating one, and drawing random questions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizServiceBenchmark {
+
+	private ConfigurableApplicationContext context;
+
+	private QuizService quizService;
+
+	private QuizRequestDto validQuiz;
+
+	private QuizRequestDto invalidQuiz;
+
+	private Long quizId;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkData.startContext();
+		quizService = context.getBean(QuizService.class);
+		validQuiz = BenchmarkData.quizRequest(50, 4);
+		invalidQuiz = BenchmarkData.quizRequest(50, 4);
+		invalidQuiz.getQuestions().get(49).getAnswers().get(0).setCorrect(false);
+		quizId = quizService.createQuiz(validQuiz).getId();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Object createQuizValidation() {
+		try {
+			return quizService.createQuiz(invalidQuiz);
+		} catch (BadRequestException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public QuizResponseDto createQuiz() {
+		return quizService.createQuiz(validQuiz);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public QuestionResponseDto getRandomQuestion() {
+		return quizService.getRandomQuestion(quizId);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(QuizServiceBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
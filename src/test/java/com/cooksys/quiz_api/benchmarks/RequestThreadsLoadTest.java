@@ -0,0 +1,100 @@
+package com.cooksys.quiz_api.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cooksys.quiz_api.QuizApiApplication;
+import com.cooksys.quiz_api.services.QuizService;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-loop load test of the request thread modes: starts the application on a random port with
+ * quiz.web.threads set to the first argument (platform or virtual), then has the given number of concurrent
+ * clients each draw random questions over HTTP and prints throughput, latency percentiles and rejections.
+ *
+ * Not a JMH benchmark, run it with
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.cooksys.quiz_api.benchmarks.RequestThreadsLoadTest -Dexec.args="platform 10000 5"
+ */
+public final class RequestThreadsLoadTest {
+
+	private RequestThreadsLoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		String mode = args.length > 0 ? args[0] : "platform";
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+		int requestsPerClient = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(QuizApiApplication.class)
+				.logStartupInfo(false)
+				.run("--server.port=0", "--quiz.web.threads=" + mode,
+						"--server.tomcat.max-connections=" + (clients + 100),
+						"--server.tomcat.accept-count=" + clients,
+						"--quiz.db.acquire-timeout-ms=30000",
+						"--spring.jpa.properties.hibernate.generate_statistics=false",
+						"--logging.level.root=WARN");
+		try {
+			Long quizId = context.getBean(QuizService.class).createQuiz(BenchmarkData.quizRequest(50, 4)).getId();
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			URI uri = URI.create("http://localhost:" + port + "/quiz/" + quizId + "/random");
+			run(mode, uri, clients, requestsPerClient);
+		} finally {
+			context.close();
+		}
+	}
+
+	private static void run(String mode, URI uri, int clients, int requestsPerClient) {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+		long[] latencies = new long[clients * requestsPerClient];
+		AtomicInteger completed = new AtomicInteger();
+		AtomicInteger failed = new AtomicInteger();
+
+		long start = System.nanoTime();
+		List<CompletableFuture<Void>> loops = new ArrayList<>();
+		for (int i = 0; i < clients; i++)
+			loops.add(loop(client, request, requestsPerClient, latencies, completed, failed));
+		CompletableFuture.allOf(loops.toArray(new CompletableFuture[0])).join();
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		int count = completed.get();
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		System.out.printf("%s threads, %d clients x %d requests: %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d failed%n",
+				mode, clients, requestsPerClient, count / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+				percentile(sorted, 1.0), failed.get());
+	}
+
+	// One client: sends its next request only once the previous response has arrived
+	private static CompletableFuture<Void> loop(HttpClient client, HttpRequest request, int remaining, long[] latencies,
+			AtomicInteger completed, AtomicInteger failed) {
+		if (remaining == 0)
+			return CompletableFuture.completedFuture(null);
+		long sent = System.nanoTime();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+			if (error != null || response.statusCode() != 200)
+				failed.incrementAndGet();
+			else
+				latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+			return null;
+		}).thenCompose(ignored -> loop(client, request, remaining - 1, latencies, completed, failed));
+	}
+
+	private static double percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0)
+			return 0;
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+	}
+
+}
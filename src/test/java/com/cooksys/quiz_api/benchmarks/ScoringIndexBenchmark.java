@@ -0,0 +1,76 @@
+package com.cooksys.quiz_api.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.cooksys.quiz_api.dtos.SelectionDto;
+import com.cooksys.quiz_api.entities.Answer;
+import com.cooksys.quiz_api.entities.Question;
+import com.cooksys.quiz_api.scoring.ScoringIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Grading throughput of a single submission that answers every question of a quiz.
+ * Reported in submissions per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringIndexBenchmark {
+
+	@Param({ "10", "50" })
+	private int questions;
+
+	private ScoringIndex index;
+
+	private List<SelectionDto> selections;
+
+	@Setup
+	public void setup() {
+		List<Question> quiz = new ArrayList<>();
+		selections = new ArrayList<>();
+		long nextId = 1;
+		for (int i = 0; i < questions; i++) {
+			Question question = new Question();
+			question.setId(nextId++);
+			question.setAnswers(new ArrayList<>());
+			for (int j = 0; j < 4; j++) {
+				Answer answer = new Answer();
+				answer.setId(nextId++);
+				answer.setCorrect(j == i % 4);
+				question.getAnswers().add(answer);
+			}
+			quiz.add(question);
+			selections.add(new SelectionDto(question.getId(), question.getAnswers().get(i % 3).getId()));
+		}
+		index = ScoringIndex.of(quiz);
+	}
+
+	@Benchmark
+	public ScoringIndex.Score score() {
+		return index.score(selections);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ScoringIndexBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
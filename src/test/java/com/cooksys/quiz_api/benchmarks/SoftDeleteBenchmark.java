@@ -0,0 +1,80 @@
+package com.cooksys.quiz_api.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.services.QuizService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * deleteQuizById over quizzes of growing size, to show how the cost of the bulk soft delete scales with the
+ * number of question and answer rows. Every invocation deletes a quiz created outside the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoftDeleteBenchmark {
+
+	@Param({ "5", "50", "500" })
+	private int questions;
+
+	@Param({ "4", "16" })
+	private int answers;
+
+	private ConfigurableApplicationContext context;
+
+	private QuizService quizService;
+
+	private QuizRequestDto quiz;
+
+	private Long quizId;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkData.startContext();
+		quizService = context.getBean(QuizService.class);
+		quiz = BenchmarkData.quizRequest(questions, answers);
+	}
+
+	// Per-invocation setup is only affordable because a delete costs far more than the timing overhead it adds
+	@Setup(Level.Invocation)
+	public void createQuiz() {
+		quizId = quizService.createQuiz(quiz).getId();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public QuizResponseDto deleteQuizById() {
+		return quizService.deleteQuizById(quizId, null);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SoftDeleteBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.cooksys.quiz_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The bulkhead only bounds connections if a connection goes back to the pool when the transactional call that
+ * borrowed it returns, rather than staying with the request until it completes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkheadConnectionTests {
+
+	// Connections checked out and permits available once the handler has made all its service calls
+	private static final List<int[]> AFTER_HANDLER = new CopyOnWriteArrayList<>();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private DatabaseBulkhead bulkhead;
+
+	@Test
+	void connectionsAreReturnedBeforeTheirPermits() throws Exception {
+		int permits = bulkhead.availablePermits();
+		AFTER_HANDLER.clear();
+
+		// Two transactional calls in one request: the version check, then the page
+		mockMvc.perform(get("/quiz").header(HttpHeaders.IF_NONE_MATCH, "\"stale\"")).andExpect(status().isOk());
+
+		assertEquals(1, AFTER_HANDLER.size());
+		assertEquals(0, AFTER_HANDLER.get(0)[0]);
+		assertEquals(permits, AFTER_HANDLER.get(0)[1]);
+	}
+
+	@TestConfiguration
+	static class Probe implements WebMvcConfigurer {
+
+		@Autowired
+		private DataSource dataSource;
+
+		@Autowired
+		private DatabaseBulkhead bulkhead;
+
+		@Override
+		public void addInterceptors(InterceptorRegistry registry) {
+			registry.addInterceptor(new HandlerInterceptor() {
+				@Override
+				public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+						ModelAndView modelAndView) throws Exception {
+					AFTER_HANDLER.add(new int[] {
+							dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections(),
+							bulkhead.availablePermits() });
+				}
+			});
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.cooksys.quiz_api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.cooksys.quiz_api.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DatabaseBulkheadTests {
+
+	@Test
+	void callersPastThePoolSizeAreRejectedAfterTheTimeout() throws Throwable {
+		DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, 50, new SimpleMeterRegistry());
+		CountDownLatch inside = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ProceedingJoinPoint holding = mock(ProceedingJoinPoint.class);
+		when(holding.proceed()).then(invocation -> {
+			inside.countDown();
+			release.await();
+			return "done";
+		});
+
+		CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return bulkhead.limit(holding);
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		inside.await();
+		assertThrows(ServiceUnavailableException.class, () -> bulkhead.limit(mock(ProceedingJoinPoint.class)));
+
+		release.countDown();
+		assertEquals("done", first.join());
+		assertEquals(1, bulkhead.availablePermits());
+	}
+
+	@Test
+	void nestedCallsReuseTheOuterPermit() throws Throwable {
+		DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, 50, new SimpleMeterRegistry());
+		ProceedingJoinPoint inner = mock(ProceedingJoinPoint.class);
+		when(inner.proceed()).thenReturn("inner");
+		ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+		when(outer.proceed()).then(invocation -> bulkhead.limit(inner));
+
+		assertEquals("inner", bulkhead.limit(outer));
+		assertEquals(1, bulkhead.availablePermits());
+	}
+
+	@Test
+	void programmaticTransactionsTakeAPermit() {
+		DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, 50, new SimpleMeterRegistry());
+		BulkheadTransactionTemplate template = new BulkheadTransactionTemplate(mock(PlatformTransactionManager.class),
+				bulkhead);
+
+		String result = template.execute(status -> {
+			assertEquals(0, bulkhead.availablePermits());
+			// Another thread finds the pool taken, while a nested transaction on this one goes ahead
+			CompletableFuture<Void> other = CompletableFuture.runAsync(() -> template.executeWithoutResult(inner -> {
+			}));
+			CompletionException busy = assertThrows(CompletionException.class, other::join);
+			assertTrue(busy.getCause() instanceof ServiceUnavailableException);
+			return template.execute(inner -> "nested");
+		});
+
+		assertEquals("nested", result);
+		assertEquals(1, bulkhead.availablePermits());
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.cooksys.quiz_api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class QuizControllerMetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void serviceCallsAndClientErrorsAreRecorded() throws Exception {
+		mockMvc.perform(get("/quiz/987654/random")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/quiz/987655/random")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/quiz/session/abc/next")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/quiz/session/xyz/next")).andExpect(status().isNotFound());
+
+		assertEquals(2, meterRegistry.get("quiz.errors")
+				.tag("exception", "NotFoundException")
+				.tag("status", "404")
+				.tag("uri", "/quiz/{id}/random")
+				.counter().count());
+		// Whatever the client puts in the path, there is one series per route
+		assertEquals(2, meterRegistry.get("quiz.errors").tag("uri", "/quiz/session/{sessionId}/next").counter().count());
+		meterRegistry.get("quiz.errors").counters().forEach(counter -> assertTrue(counter.getId().getTag("message") == null));
+		assertTrue(meterRegistry.get("quiz.service").tag("method", "getRandomQuestion").timer().count() >= 2);
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(Matchers.containsString("quiz_service_seconds_bucket")))
+				.andExpect(content().string(Matchers.containsString("quiz_sessions_active")));
+	}
+
+}
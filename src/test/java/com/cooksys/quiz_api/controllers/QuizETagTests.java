@@ -0,0 +1,169 @@
+package com.cooksys.quiz_api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.services.QuizService;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuizETagTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<Long> created = new ArrayList<>();
+
+	// The database is shared with the other test classes, which expect their own quizzes only in listings
+	@AfterEach
+	void deleteQuizzes() {
+		created.forEach(id -> quizService.deleteQuizById(id, null));
+	}
+
+	@Test
+	void unchangedQuizIsNotModifiedWithoutLoadingQuestions() throws Exception {
+		QuizResponseDto quiz = create();
+		String etag = etag("/quiz/" + quiz.getId());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/quiz/" + quiz.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+
+		// At most the quiz row is read to get its version
+		assertEquals(0, statistics.getCollectionLoadCount());
+		assertTrue(statistics.getPrepareStatementCount() <= 1);
+	}
+
+	@Test
+	void everyEditMovesTheQuizVersionOn() throws Exception {
+		QuizResponseDto quiz = create();
+		Long questionId = quiz.getQuestions().get(0).getId();
+		String original = etag("/quiz/" + quiz.getId());
+
+		QuizResponseDto added = quizService.addQuestion(quiz.getId(), question("Added?"), null);
+		String afterAdd = etag("/quiz/" + quiz.getId());
+		assertNotEquals(original, afterAdd);
+		assertEquals("\"" + added.getVersion() + "\"", afterAdd);
+		mockMvc.perform(get("/quiz/" + quiz.getId()).header(HttpHeaders.IF_NONE_MATCH, original))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.questions.length()").value(2));
+
+		quizService.deleteAnswer(quiz.getId(), questionId, quiz.getQuestions().get(0).getAnswers().get(1).getId(), null);
+		String afterAnswer = etag("/quiz/" + quiz.getId());
+		assertNotEquals(afterAdd, afterAnswer);
+
+		quizService.deleteQuestion(quiz.getId(), questionId, null);
+		String afterQuestion = etag("/quiz/" + quiz.getId());
+		assertNotEquals(afterAnswer, afterQuestion);
+
+		quizService.renameQuiz(quiz.getId(), "Renamed", null);
+		assertNotEquals(afterQuestion, etag("/quiz/" + quiz.getId()));
+	}
+
+	@Test
+	void listingPageIsRevalidatedFromVersions() throws Exception {
+		QuizResponseDto first = create();
+		QuizResponseDto second = create();
+		String page = "/quiz?after=" + (first.getId() - 1) + "&limit=2";
+		String etag = etag(page);
+
+		mockMvc.perform(get(page).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		quizService.addQuestion(second.getId(), question("Changed?"), null);
+		mockMvc.perform(get(page).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[1].questions.length()").value(2));
+		assertNotEquals(etag, etag(page));
+	}
+
+	@Test
+	void ifMatchOnlyAppliesEditsToTheVersionSeen() throws Exception {
+		QuizResponseDto quiz = create();
+		String etag = etag("/quiz/" + quiz.getId());
+
+		mockMvc.perform(patch("/quiz/" + quiz.getId() + "/rename/First").header(HttpHeaders.IF_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.name").value("First"));
+		mockMvc.perform(patch("/quiz/" + quiz.getId() + "/rename/Second").header(HttpHeaders.IF_MATCH, etag))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(patch("/quiz/" + quiz.getId() + "/rename/Second").header(HttpHeaders.IF_MATCH, "W/" + etag))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/quiz/" + quiz.getId()).header(HttpHeaders.IF_MATCH, etag))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(get("/quiz/" + quiz.getId()))
+				.andExpect(jsonPath("$.name").value("First"));
+
+		mockMvc.perform(delete("/quiz/" + quiz.getId()).header(HttpHeaders.IF_MATCH, etag("/quiz/" + quiz.getId())))
+				.andExpect(status().isOk());
+		created.remove(quiz.getId());
+	}
+
+	private QuizResponseDto create() {
+		QuizResponseDto quiz = quizService.createQuiz(quiz());
+		created.add(quiz.getId());
+		return quiz;
+	}
+
+	private String etag(String path) throws Exception {
+		return mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private static QuizRequestDto quiz() {
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Conditional GET");
+		quiz.setQuestions(List.of(question("Modified?")));
+		return quiz;
+	}
+
+	private static QuestionRequestDto question(String text) {
+		AnswerRequestDto right = new AnswerRequestDto();
+		right.setText("Yes");
+		right.setCorrect(true);
+		AnswerRequestDto wrong = new AnswerRequestDto();
+		wrong.setText("No");
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText(text);
+		question.setAnswers(List.of(right, wrong));
+		return question;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.cooksys.quiz_api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.cooksys.quiz_api.services.QuizService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Imports over HTTP with open-in-view switched on, the setup where one EntityManager spans every batch of the
+ * request. The imported entities must not pile up in it.
+ */
+@SpringBootTest(properties = { "spring.jpa.open-in-view=true", "quiz.import.batch-size=10" })
+@AutoConfigureMockMvc
+class QuizImportControllerTests {
+
+	private static final String VALID = "{\"name\":\"Imported %d\",\"questions\":[{\"text\":\"Q?\",\"answers\":"
+			+ "[{\"text\":\"Yes\",\"correct\":true},{\"text\":\"No\",\"correct\":false}]}]}";
+
+	// Entities still managed by the request's EntityManager once the import has returned
+	private static final List<Integer> MANAGED_AFTER_HANDLER = new CopyOnWriteArrayList<>();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private QuizService quizService;
+
+	private final List<Long> imported = new ArrayList<>();
+
+	@AfterEach
+	void deleteImported() {
+		// The database is shared with the other test classes, which expect their own quizzes only in listings
+		imported.forEach(id -> quizService.deleteQuizById(id, null));
+	}
+
+	@Test
+	void batchesAreNotKeptInTheRequestEntityManager() throws Exception {
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < 100; i++)
+			body.append(String.format(VALID, i)).append('\n');
+		MANAGED_AFTER_HANDLER.clear();
+
+		String response = mockMvc.perform(post("/quiz/import").contentType(MediaType.APPLICATION_NDJSON)
+				.content(body.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.imported").value(100))
+				.andReturn().getResponse().getContentAsString();
+		for (JsonNode item : objectMapper.readTree(response).get("items"))
+			imported.add(item.get("id").asLong());
+
+		assertEquals(List.of(0), MANAGED_AFTER_HANDLER);
+	}
+
+	@TestConfiguration
+	static class Probe implements WebMvcConfigurer {
+
+		@Autowired
+		private EntityManagerFactory entityManagerFactory;
+
+		@Override
+		public void addInterceptors(InterceptorRegistry registry) {
+			registry.addInterceptor(new HandlerInterceptor() {
+				@Override
+				public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+						ModelAndView modelAndView) {
+					EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+							.getResource(entityManagerFactory);
+					MANAGED_AFTER_HANDLER.add(holder.getEntityManager().unwrap(SessionImplementor.class)
+							.getPersistenceContext().getNumberOfManagedEntities());
+				}
+			});
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.cooksys.quiz_api.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.services.QuizService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveQuizControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void streamsTheSameQuizzesAsTheBlockingStream() throws Exception {
+		List<Long> expected = new ArrayList<>();
+		quizService.streamAllQuizzes(quiz -> expected.add(quiz.getId()));
+
+		MvcResult started = mockMvc.perform(get("/reactive/quiz").accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString();
+
+		List<Long> streamed = body.lines().filter(line -> !line.isBlank())
+				.map(line -> read(line).getId())
+				.collect(Collectors.toList());
+		assertEquals(expected, streamed);
+	}
+
+	@Test
+	void randomQuestionOfMissingQuizIsNotFound() throws Exception {
+		MvcResult started = mockMvc.perform(get("/reactive/quiz/987654/random"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("Unable To Find Quiz With ID 987654"));
+	}
+
+	private QuizResponseDto read(String line) {
+		try {
+			return objectMapper.readValue(line, QuizResponseDto.class);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.cooksys.quiz_api.controllers.advice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.cooksys.quiz_api.exception.NotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClientErrorLoggerTests {
+
+	@Test
+	void clientErrorsCarryNoStackTrace() {
+		assertEquals(0, new NotFoundException("Unable To Find Quiz With ID 1").getStackTrace().length);
+	}
+
+	@Test
+	void linesOverTheRateAreDroppedAndCounted() throws InterruptedException {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ClientErrorLogger logger = new ClientErrorLogger(2, 16, registry);
+		NotFoundException exception = new NotFoundException("Unable To Find Quiz With ID 1");
+
+		// Stay inside one rate window so exactly the first two lines are admitted
+		while (System.currentTimeMillis() % 1000 > 900)
+			Thread.sleep(10);
+		for (int i = 0; i < 5; i++)
+			logger.log(404, "GET", "/quiz/1/random", exception);
+		logger.shutdown();
+
+		assertEquals(3, registry.get("quiz.errors.log.dropped").counter().count());
+	}
+
+}
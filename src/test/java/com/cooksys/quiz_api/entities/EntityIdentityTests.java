@@ -0,0 +1,102 @@
+package com.cooksys.quiz_api.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.services.QuizService;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class EntityIdentityTests {
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void setMembershipAndLoggingDoNotLoadCollections() {
+		QuizResponseDto created = quizService.createQuiz(quiz());
+		Long questionId = created.getQuestions().get(0).getId();
+
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			Question question = entityManager.find(Question.class, questionId);
+			Statistics statistics = statistics();
+			statistics.clear();
+
+			Set<Object> seen = new HashSet<>();
+			seen.add(question);
+			seen.add(question.getQuiz());
+			assertTrue(seen.contains(question));
+			assertTrue(seen.contains(entityManager.getReference(Question.class, questionId)));
+			String logged = question + " " + question.getQuiz();
+
+			assertTrue(logged.contains("Question"));
+			assertFalse(Hibernate.isInitialized(question.getAnswers()));
+			assertFalse(Hibernate.isInitialized(question.getQuiz().getQuestions()));
+			assertEquals(0, statistics.getCollectionLoadCount());
+			assertEquals(0, statistics.getPrepareStatementCount());
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	@Test
+	void equalityFollowsTheIdentifier() {
+		Quiz first = new Quiz();
+		Quiz second = new Quiz();
+		// Unsaved entities are only equal to themselves
+		assertNotEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+
+		first.setId(1L);
+		second.setId(1L);
+		second.setName("Renamed");
+		assertEquals(first, second);
+
+		Question question = new Question();
+		question.setId(1L);
+		assertNotEquals(first, question);
+	}
+
+	private Statistics statistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private static QuizRequestDto quiz() {
+		AnswerRequestDto right = new AnswerRequestDto();
+		right.setText("Yes");
+		right.setCorrect(true);
+		AnswerRequestDto wrong = new AnswerRequestDto();
+		wrong.setText("No");
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText("Identity?");
+		question.setAnswers(List.of(right, wrong));
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Entity identity");
+		quiz.setQuestions(List.of(question));
+		return quiz;
+	}
+
+}
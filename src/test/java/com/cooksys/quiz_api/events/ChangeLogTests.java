@@ -0,0 +1,217 @@
+package com.cooksys.quiz_api.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.ChangeEventDto;
+import com.cooksys.quiz_api.dtos.ChangeKind;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.exception.BadRequestException;
+import com.cooksys.quiz_api.services.QuizService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class ChangeLogTests {
+
+	private static final Pattern EVENT = Pattern.compile("id:(\\d+)\\nevent:(\\w+)");
+
+	@Autowired
+	private ChangeLog changeLog;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Test
+	void subscribersResumeAfterTheLastEventId() throws Exception {
+		ChangeLog log = new ChangeLog(8, 4, 0, new SimpleMeterRegistry(), 1);
+		for (long version = 0; version < 3; version++)
+			log.publish(quiz(1L, version), ChangeKind.RENAMED);
+
+		RecordingEmitter resumed = new RecordingEmitter();
+		log.subscribe(1L, resumed);
+		RecordingEmitter live = new RecordingEmitter();
+		log.subscribe(null, live);
+		log.publish(quiz(1L, 3), ChangeKind.DELETED);
+
+		assertEquals("change 2", resumed.next());
+		assertEquals("change 3", resumed.next());
+		assertEquals("change 4", resumed.next());
+		assertEquals("change 4", live.next());
+		log.shutdown();
+	}
+
+	@Test
+	void subscribersBehindTheRingGetOneReset() throws Exception {
+		ChangeLog log = new ChangeLog(8, 4, 0, new SimpleMeterRegistry(), 1);
+		for (long version = 0; version < 20; version++)
+			log.publish(quiz(1L, version), ChangeKind.RENAMED);
+
+		RecordingEmitter stale = new RecordingEmitter();
+		log.subscribe(2L, stale);
+		assertEquals("reset 20", stale.next());
+
+		log.publish(quiz(1L, 20), ChangeKind.RENAMED);
+		assertEquals("change 21", stale.next());
+		log.shutdown();
+	}
+
+	@Test
+	void idsFromAnotherRunGetAReset() throws Exception {
+		// A run that has published 500 events before a client of the previous run, which saw up to 100, reconnects
+		ChangeLog previous = new ChangeLog(8, 4, 0, new SimpleMeterRegistry(), 1);
+		ChangeLog log = new ChangeLog(8, 4, 0, new SimpleMeterRegistry(), 10_000);
+		for (long version = 0; version < 500; version++)
+			log.publish(quiz(1L, version), ChangeKind.RENAMED);
+
+		RecordingEmitter earlier = new RecordingEmitter();
+		log.subscribe(100L, earlier);
+		assertEquals("reset 10499", earlier.next());
+		// And the other way round, after the clock was set back
+		RecordingEmitter later = new RecordingEmitter();
+		previous.subscribe(10_050L, later);
+		assertEquals("reset 0", later.next());
+
+		assertTrue(new ChangeLog(8, 4, 0, new SimpleMeterRegistry()).lastId() > log.lastId());
+		previous.shutdown();
+		log.shutdown();
+	}
+
+	@Test
+	void slowSubscribersNeverBlockPublishers() throws Exception {
+		ChangeLog log = new ChangeLog(8, 4, 0, new SimpleMeterRegistry(), 1);
+		RecordingEmitter slow = new RecordingEmitter();
+		slow.block();
+		log.subscribe(null, slow);
+		log.publish(quiz(1L, 0), ChangeKind.RENAMED);
+		slow.awaitSending();
+
+		// The subscriber is stuck sending the first event while the ring wraps several times over
+		assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+			for (long version = 1; version < 100; version++)
+				log.publish(quiz(1L, version), ChangeKind.RENAMED);
+		});
+		slow.release();
+
+		assertEquals("change 1", slow.next());
+		assertEquals("reset 100", slow.next());
+		log.shutdown();
+	}
+
+	@Test
+	void committedEditsArePublishedWithTheirVersion() throws Exception {
+		RecordingEmitter emitter = new RecordingEmitter();
+		changeLog.subscribe(null, emitter);
+
+		QuizResponseDto quiz = quizService.createQuiz(quizRequest());
+		assertThrows(BadRequestException.class, () -> quizService.renameQuiz(quiz.getId(), " ", null));
+		QuizResponseDto renamed = quizService.renameQuiz(quiz.getId(), "Renamed", null);
+		quizService.deleteQuizById(quiz.getId(), null);
+
+		// Nothing for the rename that was rejected and rolled back
+		List<String> changes = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			ChangeEventDto event = emitter.nextEvent();
+			changes.add(event.getQuizId() + " " + event.getKind() + " " + event.getVersion());
+		}
+		assertEquals(List.of(quiz.getId() + " CREATED " + quiz.getVersion(),
+				quiz.getId() + " RENAMED " + renamed.getVersion(),
+				quiz.getId() + " DELETED " + (renamed.getVersion() + 1)), changes);
+		emitter.complete();
+	}
+
+	private static Quiz quiz(Long id, long version) {
+		Quiz quiz = new Quiz();
+		quiz.setId(id);
+		quiz.setVersion(version);
+		return quiz;
+	}
+
+	private static QuizRequestDto quizRequest() {
+		AnswerRequestDto answer = new AnswerRequestDto();
+		answer.setText("Yes");
+		answer.setCorrect(true);
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText("Published?");
+		question.setAnswers(List.of(answer));
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Change events");
+		quiz.setQuestions(List.of(question));
+		return quiz;
+	}
+
+	// Keeps what would have been written to the client, and can hold up sending like a stalled connection
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final BlockingQueue<Object[]> events = new LinkedBlockingQueue<>();
+
+		private final CountDownLatch sending = new CountDownLatch(1);
+
+		private volatile CountDownLatch gate = new CountDownLatch(0);
+
+		void block() {
+			gate = new CountDownLatch(1);
+		}
+
+		void release() {
+			gate.countDown();
+		}
+
+		void awaitSending() throws InterruptedException {
+			sending.await(5, TimeUnit.SECONDS);
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			sending.countDown();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			// The event is written as its "id:..\nevent:..\ndata:" prefix, the data object, then a blank line
+			List<DataWithMediaType> parts = new ArrayList<>(builder.build());
+			Matcher header = EVENT.matcher(parts.get(0).getData().toString());
+			header.find();
+			events.add(new Object[] { header.group(2) + " " + header.group(1), parts.get(1).getData() });
+		}
+
+		String next() throws InterruptedException {
+			return (String) poll()[0];
+		}
+
+		ChangeEventDto nextEvent() throws InterruptedException {
+			return (ChangeEventDto) poll()[1];
+		}
+
+		private Object[] poll() throws InterruptedException {
+			Object[] event = events.poll(5, TimeUnit.SECONDS);
+			if (event == null)
+				throw new AssertionError("No event within 5 seconds");
+			return event;
+		}
+	}
+
+}
@@ -0,0 +1,297 @@
+package com.cooksys.quiz_api.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.ChangeEventDto;
+import com.cooksys.quiz_api.dtos.ChangeKind;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.entities.OutboxEvent;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.repositories.OutboxEventRepository;
+import com.cooksys.quiz_api.repositories.QuizRepository;
+import com.cooksys.quiz_api.services.QuizService;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * The relay needs SKIP LOCKED, so this context runs on an embedded Postgres migrated by Flyway, with a stand-in
+ * consumer that records what it is given and can be made to fail or to stall.
+ */
+@SpringBootTest(properties = { "quiz.outbox.relay.enabled=true", "quiz.outbox.relay.interval-ms=3600000",
+		"quiz.outbox.relay.batch-size=3", "quiz.outbox.relay.backoff-ms=0", "quiz.outbox.relay.max-attempts=2" })
+class OutboxRelayTests {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private QuizRepository quizRepository;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private Outbox outbox;
+
+	@Autowired
+	private OutboxRelay outboxRelay;
+
+	@Autowired
+	private RecordingConsumer consumer;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void postgres(DynamicPropertyRegistry registry) {
+		try {
+			if (postgres == null)
+				postgres = EmbeddedPostgres.start();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	@AfterAll
+	static void stop() throws IOException {
+		postgres.close();
+	}
+
+	@BeforeEach
+	void drain() {
+		while (outboxRelay.relayBatch() > 0)
+			;
+		consumer.reset();
+	}
+
+	@Test
+	void everyEditIsRelayedWithItsVersion() {
+		QuizResponseDto quiz = quizService.createQuiz(quiz());
+		quizService.renameQuiz(quiz.getId(), "Renamed", null);
+		QuizResponseDto added = quizService.addQuestion(quiz.getId(), question(), null);
+		Long questionId = added.getQuestions().get(1).getId();
+		quizService.deleteAnswer(quiz.getId(), questionId, added.getQuestions().get(1).getAnswers().get(1).getId(), null);
+		quizService.deleteQuestion(quiz.getId(), questionId, null);
+		quizService.deleteQuizById(quiz.getId(), null);
+
+		assertEquals(3, outboxRelay.relayBatch());
+		assertEquals(3, outboxRelay.relayBatch());
+		assertEquals(0, outboxRelay.relayBatch());
+
+		assertEquals(List.of("CREATED 0", "RENAMED 1", "QUESTION_ADDED 2", "ANSWER_DELETED 3", "QUESTION_DELETED 4",
+				"DELETED 5"), consumer.received().stream()
+						.map(event -> event.getKind() + " " + event.getVersion())
+						.collect(Collectors.toList()));
+		assertEquals(0, outboxEventRepository.count());
+	}
+
+	@Test
+	void eventsCommitAndRollBackWithTheirChange() {
+		long quizzes = quizRepository.count();
+		transactionTemplate.executeWithoutResult(status -> {
+			quizService.createQuiz(quiz());
+			status.setRollbackOnly();
+		});
+
+		assertEquals(quizzes, quizRepository.count());
+		assertEquals(0, outboxEventRepository.count());
+		// No transaction, no separate write
+		assertThrows(IllegalTransactionStateException.class, () -> outbox.record(new Quiz(), ChangeKind.CREATED));
+	}
+
+	@Test
+	void failedDeliveryStaysInTheOutbox() {
+		quizService.createQuiz(quiz());
+		consumer.failNext();
+
+		assertThrows(IllegalStateException.class, outboxRelay::relayBatch);
+		assertEquals(1, outboxEventRepository.findAll().get(0).getAttempts());
+		assertEquals(1, outboxRelay.relayBatch());
+		assertEquals(1, consumer.received().size());
+	}
+
+	@Test
+	void eventsThatKeepFailingAreSetAsideWithoutHoldingUpTheirBatch() {
+		quizService.createQuiz(quiz());
+		QuizResponseDto poison = quizService.createQuiz(quiz());
+		quizService.createQuiz(quiz());
+		consumer.reject(poison.getId());
+
+		// The batch fails, then its events go one at a time and only the poison one fails again
+		assertThrows(IllegalStateException.class, outboxRelay::relayBatch);
+		assertEquals(2, consumer.received().size());
+		assertThrows(IllegalStateException.class, outboxRelay::relayBatch);
+		assertEquals(0, outboxRelay.relayBatch());
+
+		OutboxEvent deadLetter = outboxEventRepository.findAll().get(0);
+		assertEquals(poison.getId(), deadLetter.getQuizId());
+		assertEquals(2, deadLetter.getAttempts());
+		assertTrue(deadLetter.isDeadLetter());
+		outboxEventRepository.deleteAll();
+	}
+
+	@Test
+	void concurrentRelaysTakeDifferentBatchesWithoutWaiting() throws Exception {
+		for (int i = 0; i < 6; i++)
+			quizService.createQuiz(quiz());
+		consumer.stallNext();
+
+		// The first relay holds its batch locked while the second one runs
+		CompletableFuture<Integer> stalled = CompletableFuture.supplyAsync(outboxRelay::relayBatch);
+		assertTrue(consumer.awaitStalled());
+		// The claim has committed, so nothing stays locked while the consumer works
+		List<Long> unlocked = transactionTemplate.execute(status -> jdbcTemplate
+				.queryForList("select id from outbox_event for update nowait", Long.class));
+		assertEquals(6, unlocked.size());
+		int second = assertTimeoutPreemptively(Duration.ofSeconds(5), outboxRelay::relayBatch);
+		consumer.release();
+
+		assertEquals(3, second);
+		assertEquals(3, stalled.get(5, TimeUnit.SECONDS));
+		Set<Long> ids = new HashSet<>();
+		consumer.received().forEach(event -> assertTrue(ids.add(event.getId())));
+		assertEquals(6, ids.size());
+		assertEquals(0, outboxEventRepository.count());
+	}
+
+	private static QuizRequestDto quiz() {
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Outbox");
+		quiz.setQuestions(List.of(question()));
+		return quiz;
+	}
+
+	private static QuestionRequestDto question() {
+		AnswerRequestDto right = new AnswerRequestDto();
+		right.setText("Yes");
+		right.setCorrect(true);
+		AnswerRequestDto wrong = new AnswerRequestDto();
+		wrong.setText("No");
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText("Relayed?");
+		question.setAnswers(List.of(right, wrong));
+		return question;
+	}
+
+	@TestConfiguration
+	static class Consumer {
+
+		// Takes over from the logging consumer, which is registered before test configuration is read
+		@Bean
+		@Primary
+		RecordingConsumer recordingConsumer() {
+			return new RecordingConsumer();
+		}
+	}
+
+	static class RecordingConsumer implements OutboxConsumer {
+
+		private final List<ChangeEventDto> received = new ArrayList<>();
+
+		private volatile boolean fail;
+
+		private volatile Long rejectedQuizId;
+
+		private volatile CountDownLatch stalled;
+
+		private volatile CountDownLatch gate;
+
+		@Override
+		public void accept(List<ChangeEventDto> events) throws Exception {
+			if (fail) {
+				fail = false;
+				throw new IOException("Consumer unavailable");
+			}
+			if (events.stream().anyMatch(event -> event.getQuizId().equals(rejectedQuizId)))
+				throw new IOException("Consumer cannot take quiz " + rejectedQuizId);
+			CountDownLatch hold = gate;
+			if (hold != null) {
+				gate = null;
+				stalled.countDown();
+				hold.await(5, TimeUnit.SECONDS);
+			}
+			synchronized (received) {
+				received.addAll(events);
+			}
+		}
+
+		List<ChangeEventDto> received() {
+			synchronized (received) {
+				return new ArrayList<>(received);
+			}
+		}
+
+		void reset() {
+			rejectedQuizId = null;
+			synchronized (received) {
+				received.clear();
+			}
+		}
+
+		void failNext() {
+			fail = true;
+		}
+
+		// Every batch holding an event of the quiz fails
+		void reject(Long quizId) {
+			rejectedQuizId = quizId;
+		}
+
+		void stallNext() {
+			stalled = new CountDownLatch(1);
+			gate = new CountDownLatch(1);
+		}
+
+		boolean awaitStalled() throws InterruptedException {
+			return stalled.await(5, TimeUnit.SECONDS);
+		}
+
+		void release() {
+			stalled.countDown();
+			CountDownLatch hold = gate;
+			if (hold != null)
+				hold.countDown();
+		}
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.cooksys.quiz_api.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate's statement inspector in every test context, set by class name in the test application.properties.
+ * Between start and stop it keeps the SQL of each statement Hibernate prepares on the calling thread, sequence
+ * fetches included. Statements sent through JdbcTemplate are not seen.
+ */
+public class CapturingInspector implements StatementInspector {
+
+	private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+	public static void start() {
+		CAPTURED.set(new ArrayList<>());
+	}
+
+	public static List<String> stop() {
+		List<String> statements = CAPTURED.get();
+		CAPTURED.remove();
+		return statements;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		List<String> statements = CAPTURED.get();
+		if (statements != null)
+			statements.add(sql);
+		return sql;
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.cooksys.quiz_api.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Runs the Postgres migrations on an embedded Postgres, loads a catalog where most rows are soft-deleted and
+ * checks that the SQL behind the repository methods is planned on the intended indexes rather than scans. The
+ * repository methods themselves are called, and the SQL Hibernate sends for them is captured and explained, so
+ * a change to a query or to the mapping shows up here. The soft deletes bypass Hibernate, their SQL is explained
+ * as SoftDeleteRepository sends it.
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	private QuizRepository quizRepository;
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@DynamicPropertySource
+	static void postgres(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+		registry.add("spring.datasource.username", () -> "postgres");
+		registry.add("spring.datasource.password", () -> "");
+	}
+
+	// Runs before the Spring context starts, whose own Flyway run then finds the schema up to date
+	@BeforeAll
+	static void migrateAndLoad() throws IOException, SQLException {
+		postgres = EmbeddedPostgres.start();
+		Flyway.configure()
+				.dataSource(postgres.getPostgresDatabase())
+				.locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+				.load()
+				.migrate();
+		try (Connection connection = postgres.getPostgresDatabase().getConnection();
+				Statement statement = connection.createStatement()) {
+			// 5,000 quizzes, 20 questions each, 4 answers per question. 9 quizzes in 10 are deleted along with
+			// their subtree, and the live quizzes have had the odd question and answer deleted since
+			statement.execute("insert into quiz (id, name, deleted) "
+					+ "select i, 'Quiz ' || i, i % 10 <> 0 from generate_series(1, 5000) i");
+			statement.execute("insert into question (id, text, quiz_id, deleted) "
+					+ "select i, 'Question ' || i, q.id, q.deleted or i % 20 = 0 "
+					+ "from generate_series(1, 100000) i join quiz q on q.id = (i - 1) / 20 + 1");
+			statement.execute("insert into answer (id, text, correct, question_id, deleted) "
+					+ "select i, 'Answer ' || i, i % 4 = 0, q.id, q.deleted or i % 8 = 0 "
+					+ "from generate_series(1, 400000) i join question q on q.id = (i - 1) / 4 + 1");
+			statement.execute("vacuum analyze");
+		}
+	}
+
+	@AfterAll
+	static void stop() throws IOException {
+		postgres.close();
+	}
+
+	@Test
+	void quizPagesUseTheLiveIdIndex() throws SQLException {
+		String sql = single(() -> quizRepository.findIdsAfter(2500L, PageRequest.of(0, 50)));
+		assertUses("quiz_live_id_idx", sql, 2500, 50);
+	}
+
+	@Test
+	void quizSummariesOnlyReadTheLiveIndexes() throws SQLException {
+		// Question counts come from the partial index, answers are not read
+		String sql = single(() -> quizRepository.findSummariesAfter(2500L, PageRequest.of(0, 50)));
+		assertUses("quiz_live_id_idx", sql, 2500, 50);
+		assertUses("question_live_quiz_id_idx", sql, 2500, 50);
+		assertFalse(sql.contains("answer"), sql);
+	}
+
+	@Test
+	void liveQuestionsOfAQuizUseTheLiveQuizIdIndex() throws SQLException {
+		assertUses("question_live_quiz_id_idx", single(() -> questionRepository.findLiveIdsByQuizId(2500L)), 2500);
+		// Either index fits the update: the correlation between a quiz and its deleted questions is invisible to the planner
+		assertUses("question_live_quiz_id_idx|question_quiz_id_idx",
+				SoftDeleteRepository.DELETE_QUESTIONS_OF_QUIZ, 2500);
+		assertUses("question_live_quiz_id_idx|question_quiz_id_idx", SoftDeleteRepository.DELETE_ANSWERS_OF_QUIZ, 2500);
+	}
+
+	@Test
+	void liveAnswersOfAQuestionUseTheLiveQuestionIdIndex() throws SQLException {
+		assertUses("answer_live_question_id_idx",
+				single(() -> answerRepository.findByQuestionIdAndDeletedFalseOrderByIdAsc(49990L)), 49990);
+		assertUses("answer_live_question_id_idx|answer_question_id_idx",
+				SoftDeleteRepository.DELETE_ANSWERS_OF_QUESTION, 49990);
+	}
+
+	@Test
+	void wholeGraphLoadsUseTheForeignKeyIndexes() throws SQLException {
+		// As the service loads a page: the quizzes with their questions, then the answers of those questions.
+		// Deleted rows are included, so the full foreign key indexes are used rather than the partial ones
+		List<String> statements = new ArrayList<>();
+		transactionTemplate.executeWithoutResult(status -> {
+			statements.add(single(() -> quizRepository.findWithQuestionsByIdIn(List.of(2500L, 2501L))));
+			statements.add(single(() -> questionRepository.findWithAnswersByQuizIdIn(List.of(2500L, 2501L))));
+		});
+		assertUses("question_quiz_id_idx", statements.get(0), 2500, 2501);
+		assertUses("question_quiz_id_idx", statements.get(1), 2500, 2501);
+		assertUses("answer_question_id_idx", statements.get(1), 2500, 2501);
+	}
+
+	// The one statement Hibernate prepares for the call
+	private static String single(Supplier<?> call) {
+		CapturingInspector.start();
+		call.get();
+		List<String> statements = CapturingInspector.stop();
+		assertEquals(1, statements.size(), () -> "Expected one statement, got " + statements);
+		return statements.get(0);
+	}
+
+	// index is a regular expression, so alternatives can be given as a|b. The parameters are inlined in order,
+	// so the plan is the one Postgres picks for those values
+	private static void assertUses(String index, String sql, long... parameters) throws SQLException {
+		StringBuilder inlined = new StringBuilder();
+		int next = 0;
+		for (char c : sql.toCharArray()) {
+			if (c == '?')
+				inlined.append(parameters[next++]);
+			else
+				inlined.append(c);
+		}
+		assertEquals(parameters.length, next, () -> "Parameters do not match " + sql);
+		StringBuilder plan = new StringBuilder();
+		try (Connection connection = postgres.getPostgresDatabase().getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet rows = statement.executeQuery("explain " + inlined)) {
+			while (rows.next())
+				plan.append(rows.getString(1)).append('\n');
+		}
+		assertTrue(Pattern.compile("using (" + index + ") on").matcher(plan).find(), () -> "Expected " + index + " in the plan of " + inlined + "\n" + plan);
+		assertFalse(plan.indexOf("Seq Scan") >= 0, () -> "Unexpected sequential scan for " + inlined + "\n" + plan);
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.cooksys.quiz_api.scoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.cooksys.quiz_api.dtos.SelectionDto;
+import com.cooksys.quiz_api.entities.Answer;
+import com.cooksys.quiz_api.entities.Question;
+
+import org.junit.jupiter.api.Test;
+
+class ScoringIndexTests {
+
+	@Test
+	void gradesOneSelectionPerQuestion() {
+		ScoringIndex index = ScoringIndex.of(List.of(question(1, 10, 11), question(2, 20, 21)));
+
+		ScoringIndex.Score score = index.score(List.of(
+				new SelectionDto(1L, 10L),
+				new SelectionDto(1L, 11L),
+				new SelectionDto(2L, 10L),
+				new SelectionDto(3L, 30L)));
+
+		assertEquals(2, score.getAnswered());
+		assertEquals(1, score.getCorrect());
+	}
+
+	@Test
+	void editsAreAppliedWithoutRebuildingFromScratch() {
+		ScoringIndex index = ScoringIndex.of(List.of(question(1, 10, 11)))
+				.withQuestion(question(2, 20, 21))
+				.withoutAnswer(10);
+
+		assertEquals(2, index.questionCount());
+		assertEquals(0, index.score(List.of(new SelectionDto(1L, 10L))).getCorrect());
+		assertEquals(1, index.score(List.of(new SelectionDto(2L, 20L))).getCorrect());
+
+		index = index.withoutQuestion(2);
+
+		assertEquals(1, index.questionCount());
+		assertEquals(0, index.score(List.of(new SelectionDto(2L, 20L))).getAnswered());
+	}
+
+	@Test
+	void addingAQuestionTheIndexAlreadyHoldsKeepsOneCopy() {
+		// An index loaded after the commit already has the question the commit's patch then adds again
+		ScoringIndex index = ScoringIndex.of(List.of(question(1, 10, 11), question(2, 20, 21)))
+				.withQuestion(question(2, 20, 21));
+
+		assertEquals(2, index.questionCount());
+		ScoringIndex.Score score = index.score(List.of(new SelectionDto(2L, 20L), new SelectionDto(2L, 20L)));
+		assertEquals(1, score.getAnswered());
+		assertEquals(1, score.getCorrect());
+		assertEquals(0, index.withoutAnswer(21).withoutAnswer(21).score(List.of(new SelectionDto(2L, 21L))).getCorrect());
+	}
+
+	// First answer id is the correct one
+	private Question question(long id, long correctAnswerId, long wrongAnswerId) {
+		Question question = new Question();
+		question.setId(id);
+		question.setAnswers(new ArrayList<>(List.of(answer(correctAnswerId, true), answer(wrongAnswerId, false))));
+		return question;
+	}
+
+	private Answer answer(long id, boolean correct) {
+		Answer answer = new Answer();
+		answer.setId(id);
+		answer.setCorrect(correct);
+		return answer;
+	}
+
+}
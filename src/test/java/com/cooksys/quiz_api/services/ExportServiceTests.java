@@ -0,0 +1,127 @@
+package com.cooksys.quiz_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.export.BinaryCatalogWriter;
+import com.cooksys.quiz_api.export.NdjsonCatalogWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+class ExportServiceTests {
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private Long deletedQuizId;
+
+	@BeforeEach
+	void deleteAQuiz() {
+		AnswerRequestDto answer = new AnswerRequestDto();
+		answer.setText("Yes");
+		answer.setCorrect(true);
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText("Exported?");
+		question.setAnswers(List.of(answer));
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Deleted before export");
+		quiz.setQuestions(List.of(question));
+		deletedQuizId = quizService.createQuiz(quiz).getId();
+		quizService.deleteQuizById(deletedQuizId, null);
+	}
+
+	@Test
+	void binaryExportHasEveryRowIncludingDeletedOnes() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportCatalog(new BinaryCatalogWriter(out));
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+		assertArrayEquals(BinaryCatalogWriter.MAGIC, in.readNBytes(3));
+		assertEquals(BinaryCatalogWriter.VERSION, in.readByte());
+		Map<Byte, Integer> records = new HashMap<>();
+		boolean deletedQuizFlagged = false;
+		byte type;
+		while ((type = in.readByte()) != BinaryCatalogWriter.END) {
+			long id = in.readLong();
+			int flags = in.readByte();
+			int length = in.readInt();
+			if (length > 0)
+				in.readNBytes(length);
+			records.merge(type, 1, Integer::sum);
+			if (type == BinaryCatalogWriter.QUIZ && id == deletedQuizId)
+				deletedQuizFlagged = (flags & BinaryCatalogWriter.DELETED) != 0;
+		}
+
+		assertEquals(0, in.available());
+		assertEquals(count("quiz"), records.get(BinaryCatalogWriter.QUIZ));
+		assertEquals(count("question"), records.get(BinaryCatalogWriter.QUESTION));
+		assertEquals(count("answer"), records.get(BinaryCatalogWriter.ANSWER));
+		assertTrue(deletedQuizFlagged);
+	}
+
+	@Test
+	void ndjsonExportIsGzippedOneRecordPerLine() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.exportCatalog(new NdjsonCatalogWriter(out, objectMapper.getFactory()));
+
+		List<JsonNode> lines;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+			lines = reader.lines().map(this::read).collect(Collectors.toList());
+		}
+
+		Map<String, Long> records = lines.stream()
+				.collect(Collectors.groupingBy(line -> line.get("type").asText(), Collectors.counting()));
+		assertEquals(count("quiz"), records.get("quiz").intValue());
+		assertEquals(count("question"), records.get("question").intValue());
+		assertEquals(count("answer"), records.get("answer").intValue());
+		assertTrue(lines.stream().anyMatch(line -> line.get("id").asLong() == deletedQuizId
+				&& "quiz".equals(line.get("type").asText()) && line.get("deleted").asBoolean()));
+	}
+
+	private int count(String table) {
+		return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+	}
+
+	private JsonNode read(String line) {
+		try {
+			return objectMapper.readTree(line);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
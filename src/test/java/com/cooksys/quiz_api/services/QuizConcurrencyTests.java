@@ -0,0 +1,205 @@
+package com.cooksys.quiz_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.exception.ConflictException;
+import com.cooksys.quiz_api.exception.NotFoundException;
+import com.cooksys.quiz_api.repositories.QuestionRepository;
+import com.cooksys.quiz_api.exception.NotFoundException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+class QuizConcurrencyTests {
+
+	private static final int THREADS = 8;
+	private static final int EDITS_PER_THREAD = 10;
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Test
+	void concurrentEditsToOneQuizAreNeverLost() throws Exception {
+		QuizResponseDto quiz = quizService.createQuiz(quiz());
+		List<Long> answerIds = new ArrayList<>();
+		quizService.addQuestion(quiz.getId(), question("Answers", THREADS * EDITS_PER_THREAD), null)
+				.getQuestions().get(1).getAnswers().forEach(answer -> answerIds.add(answer.getId()));
+		Long answersQuestionId = quizService.getQuiz(quiz.getId()).getQuestions().get(1).getId();
+		double retriesBefore = meterRegistry.counter("quiz.edit.retries").count();
+
+		// Every thread adds questions, deletes its own answers and renames the quiz, all against the same quiz row
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < EDITS_PER_THREAD; i++) {
+					int edit = i;
+					untilApplied(() -> quizService.addQuestion(quiz.getId(), question("Thread " + thread + " edit " + edit, 2), null));
+					untilApplied(() -> quizService.deleteAnswer(quiz.getId(), answersQuestionId, answerIds.get(thread * EDITS_PER_THREAD + edit), null));
+					untilApplied(() -> quizService.renameQuiz(quiz.getId(), "Thread " + thread + " edit " + edit, null));
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results)
+			result.get();
+		executor.shutdown();
+
+		int edits = THREADS * EDITS_PER_THREAD;
+		List<QuestionResponseDto> questions = quizService.getLiveQuestions(quiz.getId());
+		assertEquals(2 + edits, questions.size());
+		assertTrue(questions.stream().filter(question -> question.getId().equals(answersQuestionId))
+				.allMatch(question -> question.getAnswers().isEmpty()));
+		// Each edit moves the version on exactly once, so a lost update would leave it short
+		QuizResponseDto edited = quizService.getQuiz(quiz.getId());
+		assertEquals(quiz.getVersion() + 1 + 3L * edits, edited.getVersion());
+		assertTrue(meterRegistry.counter("quiz.edit.retries").count() > retriesBefore);
+
+		// The database is shared with the other test classes, which expect their own quizzes only in listings
+		quizService.deleteQuizById(quiz.getId(), null);
+	}
+
+	@Test
+	void randomQuestionsDrawnWhileQuestionsAreDeletedNeverReportTheQuizMissing() throws Exception {
+		QuizRequestDto request = quiz();
+		List<QuestionRequestDto> questions = new ArrayList<>();
+		for (int i = 0; i < 40; i++)
+			questions.add(question("Question " + i, 2));
+		request.setQuestions(questions);
+		QuizResponseDto quiz = quizService.createQuiz(request);
+		Long kept = quiz.getQuestions().get(0).getId();
+
+		// Drawers keep going until every question but the first is deleted. A 409 asks the caller to try again,
+		// a 404 would tell it a quiz that still exists is gone
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		AtomicBoolean deleting = new AtomicBoolean(true);
+		List<Future<?>> drawers = new ArrayList<>();
+		for (int t = 0; t < THREADS - 1; t++)
+			drawers.add(executor.submit(() -> {
+				while (deleting.get()) {
+					try {
+						quizService.getRandomQuestion(quiz.getId());
+					} catch (ConflictException e) {
+						// Every draw lost its race with a delete
+					}
+				}
+				return null;
+			}));
+		Future<?> deleter = executor.submit(() -> {
+			try {
+				for (QuestionResponseDto question : quiz.getQuestions().subList(1, questions.size()))
+					untilApplied(() -> quizService.deleteQuestion(quiz.getId(), question.getId(), null));
+			} finally {
+				deleting.set(false);
+			}
+			return null;
+		});
+		try {
+			deleter.get();
+			for (Future<?> drawer : drawers)
+				drawer.get();
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(kept, quizService.getRandomQuestion(quiz.getId()).getId());
+		quizService.deleteQuizById(quiz.getId(), null);
+		NotFoundException missing = assertThrows(NotFoundException.class, () -> quizService.getRandomQuestion(quiz.getId()));
+		assertEquals("Unable To Find Quiz With ID " + quiz.getId(), missing.getMessage());
+	}
+
+	@Test
+	void randomDrawsThatKeepLosingToDeletesAskForARetry() {
+		QuizResponseDto quiz = quizService.createQuiz(quiz());
+		// Every drawn question reads as deleted, as if a concurrent delete committed between each reload of the
+		// live ids and the lookup of the question drawn from them
+		Object service = AopTestUtils.getTargetObject(quizService);
+		QuestionRepository losing = mock(QuestionRepository.class, delegatesTo(questionRepository));
+		doReturn(Optional.empty()).when(losing).findByIdAndDeletedFalse(any());
+		ReflectionTestUtils.setField(service, "questionRepository", losing);
+		try {
+			// The quiz is still there, so the caller is asked to try again rather than told it is gone
+			assertThrows(ConflictException.class, () -> quizService.getRandomQuestion(quiz.getId()));
+		} finally {
+			ReflectionTestUtils.setField(service, "questionRepository", questionRepository);
+		}
+
+		assertTrue(quizService.getRandomQuestion(quiz.getId()).getId() != null);
+		// The database is shared with the other test classes, which expect their own quizzes only in listings
+		quizService.deleteQuizById(quiz.getId(), null);
+		NotFoundException missing = assertThrows(NotFoundException.class, () -> quizService.getRandomQuestion(quiz.getId()));
+		assertEquals("Unable To Find Quiz With ID " + quiz.getId(), missing.getMessage());
+	}
+
+	// With every thread on one quiz an edit can run out of retries. The 409 means nothing was applied, so the
+	// edit is sent again, as a client would
+	private static void untilApplied(Runnable edit) {
+		while (true) {
+			try {
+				edit.run();
+				return;
+			} catch (ConflictException e) {
+				// Lost to the other threads on every attempt, the next request starts over
+			}
+		}
+	}
+
+	private static QuizRequestDto quiz() {
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Contended");
+		quiz.setQuestions(List.of(question("First", 2)));
+		return quiz;
+	}
+
+	private static QuestionRequestDto question(String text, int answers) {
+		List<AnswerRequestDto> answerRequests = new ArrayList<>();
+		for (int i = 0; i < answers; i++) {
+			AnswerRequestDto answer = new AnswerRequestDto();
+			answer.setText("Answer " + i);
+			answer.setCorrect(i == 0);
+			answerRequests.add(answer);
+		}
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText(text);
+		question.setAnswers(answerRequests);
+		return question;
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.cooksys.quiz_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.cooksys.quiz_api.dtos.ImportItemDto;
+import com.cooksys.quiz_api.dtos.ImportResponseDto;
+import com.cooksys.quiz_api.repositories.QuizRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "quiz.import.batch-size=2")
+class QuizImportServiceTests {
+
+	private static final String VALID = "{\"name\":\"Imported %d\",\"questions\":[{\"text\":\"Q?\",\"answers\":"
+			+ "[{\"text\":\"Yes\",\"correct\":true},{\"text\":\"No\",\"correct\":false}]}]}";
+
+	private static final String NO_CORRECT_ANSWER = "{\"name\":\"Broken\",\"questions\":[{\"text\":\"Q?\",\"answers\":"
+			+ "[{\"text\":\"No\",\"correct\":false}]}]}";
+
+	@Autowired
+	private QuizImportService quizImportService;
+
+	@Autowired
+	private QuizRepository quizRepository;
+
+	@Test
+	void importsNdjsonAcrossBatchesAndReportsEachItem() throws IOException {
+		long before = quizRepository.count();
+		String body = String.join("\n", String.format(VALID, 1), NO_CORRECT_ANSWER, String.format(VALID, 2),
+				"{\"name\":[]}", String.format(VALID, 3));
+
+		ImportResponseDto result = quizImportService.importQuizzes(stream(body));
+
+		assertEquals(3, result.getImported());
+		assertEquals(2, result.getFailed());
+		assertEquals(before + 3, quizRepository.count());
+		for (int i = 0; i < 5; i++)
+			assertEquals(i, result.getItems().get(i).getIndex());
+		assertNotNull(result.getItems().get(0).getId());
+		assertEquals("\"questions\" Must Include At Least One \"correct\" Answer", result.getItems().get(1).getError());
+		assertTrue(result.getItems().get(3).getError().startsWith("Invalid Quiz"));
+		assertNotNull(result.getItems().get(4).getId());
+	}
+
+	@Test
+	void keepsWhatWasReadBeforeMalformedJson() throws IOException {
+		String body = "[" + String.format(VALID, 4) + "," + String.format(VALID, 5) + ", {\"name\": oops";
+
+		ImportResponseDto result = quizImportService.importQuizzes(stream(body));
+
+		assertEquals(2, result.getImported());
+		ImportItemDto malformed = result.getItems().get(2);
+		assertNull(malformed.getId());
+		assertTrue(malformed.getError().startsWith("Malformed JSON"));
+	}
+
+	private static ByteArrayInputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
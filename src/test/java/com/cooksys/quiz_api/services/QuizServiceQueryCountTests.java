@@ -0,0 +1,200 @@
+package com.cooksys.quiz_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.dtos.QuizSummaryDto;
+import com.cooksys.quiz_api.entities.Answer;
+import com.cooksys.quiz_api.entities.Question;
+import com.cooksys.quiz_api.entities.Quiz;
+import com.cooksys.quiz_api.exception.NotFoundException;
+import com.cooksys.quiz_api.repositories.CapturingInspector;
+import com.cooksys.quiz_api.repositories.QuizRepository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@Transactional
+class QuizServiceQueryCountTests {
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private QuizRepository quizRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void listingQuizzesUsesConstantNumberOfStatements() {
+		seed(3, 5);
+		long few = statementsToList();
+		seed(40, 5);
+		long many = statementsToList();
+
+		assertEquals(3, few);
+		assertEquals(few, many);
+	}
+
+	@Test
+	void summaryListingIsOneStatementWithoutLoadingQuestions() {
+		List<Long> ids = seed(3, 5);
+		Question question = lastQuestion(ids.get(1));
+		quizService.deleteQuestion(ids.get(1), question.getId(), null);
+		Statistics statistics = resetStatistics();
+
+		List<QuizSummaryDto> summaries = quizService.getQuizSummaries(ids.get(0) - 1, 500);
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(List.of(5L, 4L, 5L), summaries.subList(0, 3).stream().map(QuizSummaryDto::getQuestionCount)
+				.collect(Collectors.toList()));
+		assertEquals(ids.get(0), summaries.get(0).getId());
+		assertEquals("Quiz 0", summaries.get(0).getName());
+	}
+
+	@Test
+	void softDeletingQuizUsesConstantNumberOfStatements() {
+		// Row counts grow 10x between the two quizzes, the statement count must not
+		long small = statementsToDelete(seed(1, 4).get(0), 4);
+		long large = statementsToDelete(seed(1, 40).get(0), 40);
+
+		assertEquals(small, large);
+	}
+
+	@Test
+	void ownershipChecksOnDeleteUseConstantNumberOfStatements() {
+		// Only the projection and the deleted row are read, whatever the size of the quiz
+		long smallAnswer = statementsToDeleteAnswer(seed(1, 4).get(0));
+		long largeAnswer = statementsToDeleteAnswer(seed(1, 40).get(0));
+		long smallQuestion = statementsToDeleteQuestion(seed(1, 4).get(0));
+		long largeQuestion = statementsToDeleteQuestion(seed(1, 40).get(0));
+
+		assertEquals(smallAnswer, largeAnswer);
+		assertEquals(smallQuestion, largeQuestion);
+	}
+
+	@Test
+	void deletingAnswerOfAnotherQuestionIsNotFound() {
+		Quiz quiz = quizRepository.findById(seed(1, 2).get(0)).get();
+		Long questionId = quiz.getQuestions().get(0).getId();
+		Long otherAnswerId = quiz.getQuestions().get(1).getAnswers().get(0).getId();
+
+		NotFoundException notFound = assertThrows(NotFoundException.class,
+				() -> quizService.deleteAnswer(quiz.getId(), questionId, otherAnswerId, null));
+		assertEquals("Could Not Find Answer With ID " + otherAnswerId + " Within Question With ID " + questionId
+				+ " Within Quiz With ID " + quiz.getId(), notFound.getMessage());
+		assertThrows(NotFoundException.class, () -> quizService.deleteQuestion(quiz.getId() + 1000, questionId, null));
+	}
+
+	private long statementsToDeleteAnswer(Long quizId) {
+		Question question = lastQuestion(quizId);
+		Long answerId = question.getAnswers().get(question.getAnswers().size() - 1).getId();
+		resetStatistics();
+
+		return statementsFor(() -> quizService.deleteAnswer(quizId, question.getId(), answerId, null));
+	}
+
+	private long statementsToDeleteQuestion(Long quizId) {
+		Long questionId = lastQuestion(quizId).getId();
+		resetStatistics();
+
+		return statementsFor(() -> quizService.deleteQuestion(quizId, questionId, null));
+	}
+
+	private Question lastQuestion(Long quizId) {
+		List<Question> questions = quizRepository.findById(quizId).get().getQuestions();
+		return questions.get(questions.size() - 1);
+	}
+
+	private long statementsToList() {
+		long expectedQuizzes = quizRepository.findAllByDeletedFalse().size();
+		Statistics statistics = resetStatistics();
+
+		List<QuizResponseDto> quizzes = quizService.getQuizzes(null, 500);
+
+		assertEquals(expectedQuizzes, quizzes.size());
+		quizzes.forEach(quiz -> quiz.getQuestions().forEach(question -> assertEquals(4, question.getAnswers().size())));
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long statementsToDelete(Long quizId, int questions) {
+		resetStatistics();
+
+		List<QuizResponseDto> deleted = new ArrayList<>();
+		long statements = statementsFor(() -> deleted.add(quizService.deleteQuizById(quizId, null)));
+
+		assertEquals(questions, deleted.get(0).getQuestions().size());
+		entityManager.clear();
+		Quiz quiz = quizRepository.findById(quizId).get();
+		assertTrue(quiz.isDeleted());
+		quiz.getQuestions().forEach(question -> {
+			assertTrue(question.isDeleted());
+			question.getAnswers().forEach(answer -> assertTrue(answer.isDeleted()));
+		});
+		return statements;
+	}
+
+	// Edits also write to the outbox, whose ids come from a pooled sequence, so now and then an edit fetches the
+	// next block of ids. The outbox has its own tests, these count the statements spent on the quiz tree
+	private long statementsFor(Runnable edit) {
+		CapturingInspector.start();
+		edit.run();
+		entityManager.flush();
+		List<String> statements = CapturingInspector.stop();
+		assertTrue(statements.stream().anyMatch(sql -> sql.startsWith("insert into outbox_event")), statements::toString);
+		return statements.stream().filter(sql -> !sql.contains("outbox_event")).count();
+	}
+
+	private Statistics resetStatistics() {
+		entityManager.flush();
+		entityManager.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+
+	private List<Long> seed(int count, int questions) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Quiz quiz = new Quiz();
+			quiz.setName("Quiz " + i);
+			quiz.setQuestions(new ArrayList<>());
+			for (int j = 0; j < questions; j++) {
+				Question question = new Question();
+				question.setText("Question " + j);
+				question.setQuiz(quiz);
+				question.setAnswers(new ArrayList<>());
+				for (int k = 0; k < 4; k++) {
+					Answer answer = new Answer();
+					answer.setText("Answer " + k);
+					answer.setCorrect(k == 0);
+					answer.setQuestion(question);
+					question.getAnswers().add(answer);
+				}
+				quiz.getQuestions().add(question);
+			}
+			ids.add(quizRepository.save(quiz).getId());
+		}
+		return ids;
+	}
+
+}
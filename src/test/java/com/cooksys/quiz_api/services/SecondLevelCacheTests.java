@@ -0,0 +1,137 @@
+package com.cooksys.quiz_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.dtos.RegionStatsDto;
+import com.cooksys.quiz_api.repositories.AnswerRepository;
+import com.cooksys.quiz_api.repositories.QuestionRepository;
+import com.cooksys.quiz_api.repositories.QuizRepository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private QuizRepository quizRepository;
+
+	@Autowired
+	private QuestionRepository questionRepository;
+
+	@Autowired
+	private AnswerRepository answerRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void repeatedIdLookupsStayOffTheDatabase() {
+		QuizResponseDto quiz = quizService.createQuiz(quiz());
+		Long questionId = quiz.getQuestions().get(0).getId();
+		Long answerId = quiz.getQuestions().get(0).getAnswers().get(0).getId();
+		lookUp(quiz.getId(), questionId, answerId);
+
+		Statistics statistics = statistics();
+		statistics.clear();
+		for (int i = 0; i < 5; i++)
+			lookUp(quiz.getId(), questionId, answerId);
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		// Loading a question or an answer also resolves its eager parents from the cache
+		assertTrue(statistics.getSecondLevelCacheHitCount() >= 15);
+	}
+
+	@Test
+	void softDeletesAreVisibleThroughTheCache() {
+		QuizResponseDto quiz = quizService.createQuiz(quiz());
+		QuestionResponseDto question = quiz.getQuestions().get(0);
+		Long answerId = question.getAnswers().get(0).getId();
+		lookUp(quiz.getId(), question.getId(), answerId);
+
+		// Answers are flagged by a bulk update, which must evict them from the cache
+		quizService.deleteQuestion(quiz.getId(), question.getId(), null);
+
+		assertTrue(questionRepository.findByIdAndDeletedFalse(question.getId()).isEmpty());
+		assertTrue(answerRepository.findByIdAndDeletedFalse(answerId).isEmpty());
+
+		quizService.deleteQuizById(quiz.getId(), null);
+		assertTrue(quizRepository.findByIdAndDeletedFalse(quiz.getId()).isEmpty());
+	}
+
+	@Test
+	void softDeletesOnlyEvictTheDeletedRows() {
+		QuizResponseDto deleted = quizService.createQuiz(quiz());
+		QuizResponseDto kept = quizService.createQuiz(quiz());
+		QuestionResponseDto deletedQuestion = deleted.getQuestions().get(0);
+		QuestionResponseDto keptQuestion = kept.getQuestions().get(0);
+		lookUp(deleted.getId(), deletedQuestion.getId(), deletedQuestion.getAnswers().get(0).getId());
+		lookUp(kept.getId(), keptQuestion.getId(), keptQuestion.getAnswers().get(0).getId());
+
+		quizService.deleteQuizById(deleted.getId(), null);
+
+		// The other quiz's rows are still cached, the deleted ones are read again and seen deleted
+		Statistics statistics = statistics();
+		statistics.clear();
+		lookUp(kept.getId(), keptQuestion.getId(), keptQuestion.getAnswers().get(0).getId());
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertTrue(questionRepository.findByIdAndDeletedFalse(deletedQuestion.getId()).isEmpty());
+		assertTrue(answerRepository.findByIdAndDeletedFalse(deletedQuestion.getAnswers().get(1).getId()).isEmpty());
+		assertEquals(2, statistics.getPrepareStatementCount());
+
+		quizService.deleteQuizById(kept.getId(), null);
+	}
+
+	@Test
+	void regionStatisticsAreReported() {
+		QuizResponseDto quiz = quizService.createQuiz(quiz());
+		quizRepository.findByIdAndDeletedFalse(quiz.getId());
+
+		List<RegionStatsDto> regions = quizService.getEntityCacheStats();
+
+		assertTrue(regions.stream().anyMatch(region -> region.getRegion().equals("quiz") && region.getHitCount() > 0));
+		assertTrue(regions.stream().anyMatch(region -> region.getRegion().equals("answer")));
+	}
+
+	private void lookUp(Long quizId, Long questionId, Long answerId) {
+		assertTrue(quizRepository.findByIdAndDeletedFalse(quizId).isPresent());
+		assertTrue(questionRepository.findByIdAndDeletedFalse(questionId).isPresent());
+		assertTrue(answerRepository.findByIdAndDeletedFalse(answerId).isPresent());
+	}
+
+	private Statistics statistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	private static QuizRequestDto quiz() {
+		AnswerRequestDto right = new AnswerRequestDto();
+		right.setText("Yes");
+		right.setCorrect(true);
+		AnswerRequestDto wrong = new AnswerRequestDto();
+		wrong.setText("No");
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText("Cached?");
+		question.setAnswers(List.of(right, wrong));
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Second-level cache");
+		quiz.setQuestions(List.of(question));
+		return quiz;
+	}
+
+}
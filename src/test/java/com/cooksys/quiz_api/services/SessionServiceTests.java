@@ -0,0 +1,88 @@
+package com.cooksys.quiz_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizResponseDto;
+import com.cooksys.quiz_api.dtos.SessionResponseDto;
+import com.cooksys.quiz_api.exception.NotFoundException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class SessionServiceTests {
+
+	@Autowired
+	private SessionService sessionService;
+
+	@Autowired
+	private QuizService quizService;
+
+	private Long quizId;
+
+	// The database is shared with the other test classes, which expect their own quizzes only in listings
+	@AfterEach
+	void deleteQuiz() {
+		if (quizId != null)
+			quizService.deleteQuizById(quizId, null);
+	}
+
+	@Test
+	void drawsEveryLiveQuestionExactlyOnce() {
+		QuizResponseDto quiz = quizService.createQuiz(quiz(6));
+		quizId = quiz.getId();
+		quizService.deleteQuestion(quizId, quiz.getQuestions().get(2).getId(), null);
+		Set<Long> live = quizService.getLiveQuestions(quizId).stream()
+				.map(QuestionResponseDto::getId)
+				.collect(Collectors.toSet());
+
+		SessionResponseDto session = sessionService.startSession(quizId);
+		Set<Long> drawn = new HashSet<>();
+		for (int i = 0; i < session.getQuestionCount(); i++)
+			drawn.add(sessionService.drawQuestion(session.getId()).getId());
+
+		assertEquals(5, session.getQuestionCount());
+		assertEquals(live, drawn);
+		assertThrows(NotFoundException.class, () -> sessionService.drawQuestion(session.getId()));
+	}
+
+	@Test
+	void unknownSessionIsNotFound() {
+		assertThrows(NotFoundException.class, () -> sessionService.drawQuestion("missing"));
+	}
+
+	private static QuizRequestDto quiz(int questions) {
+		List<QuestionRequestDto> requests = new ArrayList<>();
+		for (int i = 0; i < questions; i++) {
+			List<AnswerRequestDto> answers = new ArrayList<>();
+			for (int j = 0; j < 4; j++) {
+				AnswerRequestDto answer = new AnswerRequestDto();
+				answer.setText("Answer " + j);
+				answer.setCorrect(j == 0);
+				answers.add(answer);
+			}
+			QuestionRequestDto question = new QuestionRequestDto();
+			question.setText("Question " + i + "?");
+			question.setAnswers(answers);
+			requests.add(question);
+		}
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Sessions");
+		quiz.setQuestions(requests);
+		return quiz;
+	}
+
+}
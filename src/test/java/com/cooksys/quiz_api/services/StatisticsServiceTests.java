@@ -0,0 +1,217 @@
+package com.cooksys.quiz_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import com.cooksys.quiz_api.dtos.AnswerRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionRequestDto;
+import com.cooksys.quiz_api.dtos.QuestionResponseDto;
+import com.cooksys.quiz_api.dtos.QuestionStatsDto;
+import com.cooksys.quiz_api.dtos.QuizRequestDto;
+import com.cooksys.quiz_api.dtos.QuizStatsDto;
+import com.cooksys.quiz_api.dtos.SelectionDto;
+import com.cooksys.quiz_api.dtos.SubmissionRequestDto;
+import com.cooksys.quiz_api.repositories.AnswerStatisticRepository;
+import com.cooksys.quiz_api.repositories.QuestionStatisticRepository;
+import com.cooksys.quiz_api.repositories.QuizRepository;
+import com.cooksys.quiz_api.services.impl.StatisticsServiceImpl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class StatisticsServiceTests {
+
+	@Autowired
+	private QuizService quizService;
+
+	@Autowired
+	private StatisticsService statisticsService;
+
+	@Autowired
+	private AnswerStatisticRepository answerStatisticRepository;
+
+	@Autowired
+	private QuestionStatisticRepository questionStatisticRepository;
+
+	@Autowired
+	private QuizRepository quizRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Long quizId;
+
+	@BeforeEach
+	void createQuiz() {
+		quizId = quizService.createQuiz(quiz()).getId();
+	}
+
+	// The database is shared with the other test classes, which expect their own quizzes only in listings
+	@AfterEach
+	void deleteQuiz() {
+		quizService.deleteQuizById(quizId, null);
+	}
+
+	@Test
+	void statsMergeFlushedAndPendingCounts() {
+		QuestionResponseDto question = quizService.getLiveQuestions(quizId).get(0);
+		Long answerId = question.getAnswers().get(0).getId();
+		SubmissionRequestDto submission = new SubmissionRequestDto(List.of(new SelectionDto(question.getId(), answerId)));
+
+		quizService.submitAnswers(quizId, submission);
+		statisticsService.flush();
+		quizService.submitAnswers(quizId, submission);
+
+		assertEquals(1, answerStatisticRepository.findById(answerId).get().getChosen());
+		QuizStatsDto stats = statisticsService.getStats(quizId);
+		QuestionStatsDto questionStats = stats.getQuestions().get(0);
+		assertEquals(question.getId(), questionStats.getQuestionId());
+		assertEquals(2, questionStats.getAnswered());
+		assertEquals(answerId, questionStats.getAnswers().get(0).getAnswerId());
+		assertEquals(2, questionStats.getAnswers().get(0).getChosen());
+
+		statisticsService.flush();
+
+		assertEquals(2, answerStatisticRepository.findById(answerId).get().getChosen());
+		assertEquals(2, statisticsService.getStats(quizId).getQuestions().get(0).getAnswered());
+	}
+
+	@Test
+	void flushedCountersAreDroppedAndCountingCarriesOn() {
+		QuestionResponseDto question = quizService.getLiveQuestions(quizId).get(1);
+		Long answerId = question.getAnswers().get(1).getId();
+		SubmissionRequestDto submission = new SubmissionRequestDto(List.of(new SelectionDto(question.getId(), answerId)));
+
+		quizService.submitAnswers(quizId, submission);
+		assertTrue(pending().containsKey(quizId));
+		statisticsService.flush();
+		assertFalse(pending().containsKey(quizId));
+
+		// Counting starts over on fresh counters, added to what was already written
+		quizService.submitAnswers(quizId, submission);
+		statisticsService.flush();
+		assertFalse(pending().containsKey(quizId));
+		assertEquals(2, answerStatisticRepository.findById(answerId).get().getChosen());
+		QuestionStatsDto questionStats = statisticsService.getStats(quizId).getQuestions().get(0);
+		assertEquals(2, questionStats.getAnswered());
+		assertEquals(0, questionStats.getCorrect());
+	}
+
+	@Test
+	void countsRecordedWhileFlushesDropCountersAreKept() throws Exception {
+		QuestionResponseDto question = quizService.getLiveQuestions(quizId).get(0);
+		long answerId = question.getAnswers().get(2).getId();
+		ExecutorService recorders = Executors.newFixedThreadPool(4);
+		List<Future<?>> done = new ArrayList<>();
+		for (int i = 0; i < 4; i++)
+			done.add(recorders.submit(() -> {
+				for (int j = 0; j < 20_000; j++)
+					statisticsService.record(quizId, question.getId(), answerId, true, false);
+			}));
+		try {
+			while (!done.stream().allMatch(Future::isDone))
+				statisticsService.flush();
+			for (Future<?> recorder : done)
+				recorder.get();
+		} finally {
+			recorders.shutdown();
+		}
+		statisticsService.flush();
+
+		assertEquals(80_000, answerStatisticRepository.findById(answerId).get().getChosen());
+		assertEquals(80_000, statisticsService.getStats(quizId).getQuestions().get(0).getAnswered());
+	}
+
+	@Test
+	void countsBeingWrittenStayInTheStats() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		// Holds the flush's transaction open after its first statement, with nothing committed yet
+		JdbcTemplate blocking = new JdbcTemplate(dataSource) {
+			@Override
+			public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+				int[] updated = super.batchUpdate(sql, batchArgs);
+				writing.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return updated;
+			}
+		};
+		StatisticsService statistics = new StatisticsServiceImpl(quizRepository, questionStatisticRepository,
+				answerStatisticRepository, blocking, transactionTemplate);
+		QuestionResponseDto question = quizService.getLiveQuestions(quizId).get(0);
+		long answerId = question.getAnswers().get(3).getId();
+		for (int i = 0; i < 3; i++)
+			statistics.record(quizId, question.getId(), answerId, true, false);
+
+		ExecutorService flusher = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> flushed = flusher.submit(statistics::flush);
+			writing.await();
+			QuestionStatsDto during = statistics.getStats(quizId).getQuestions().get(0);
+			release.countDown();
+			flushed.get();
+
+			assertEquals(3, during.getAnswered());
+			assertEquals(3, during.getAnswers().get(0).getChosen());
+		} finally {
+			release.countDown();
+			flusher.shutdown();
+		}
+		assertEquals(3, answerStatisticRepository.findById(answerId).get().getChosen());
+		assertEquals(3, statistics.getStats(quizId).getQuestions().get(0).getAnswered());
+	}
+
+	private Map<?, ?> pending() {
+		return (Map<?, ?>) ReflectionTestUtils.getField(AopTestUtils.<Object>getTargetObject(statisticsService), "counters");
+	}
+
+	private static QuizRequestDto quiz() {
+		QuizRequestDto quiz = new QuizRequestDto();
+		quiz.setName("Statistics");
+		quiz.setQuestions(List.of(question("First?"), question("Second?")));
+		return quiz;
+	}
+
+	private static QuestionRequestDto question(String text) {
+		AnswerRequestDto right = new AnswerRequestDto();
+		right.setText("Yes");
+		right.setCorrect(true);
+		AnswerRequestDto wrong = new AnswerRequestDto();
+		wrong.setText("No");
+		AnswerRequestDto other = new AnswerRequestDto();
+		other.setText("Maybe");
+		AnswerRequestDto last = new AnswerRequestDto();
+		last.setText("Never");
+		QuestionRequestDto question = new QuestionRequestDto();
+		question.setText(text);
+		question.setAnswers(List.of(right, wrong, other, last));
+		return question;
+	}
+
+}